@@ -0,0 +1,22 @@
+#!/bin/bash
+
+echo "========================================"
+echo "Framework Overhead Benchmarks (JMH)"
+echo "========================================"
+echo ""
+
+COMMIT=$(git rev-parse --short HEAD 2>/dev/null || echo "local")
+if [ -n "$(git status --porcelain 2>/dev/null)" ]; then
+    COMMIT="$COMMIT-dirty"
+fi
+RESULT_FILE="benchmarks/results/jmh-$COMMIT.json"
+mkdir -p benchmarks/results
+
+echo "Running benchmarks ${1:-.*} for commit $COMMIT..."
+mvn -Pbenchmark compile exec:exec -Djmh.include="${1:-.*}" -Djmh.result.file="$RESULT_FILE"
+
+echo ""
+echo "========================================"
+echo "Benchmark results saved to $RESULT_FILE"
+echo "Compare runs at https://jmh.morethan.io or with any JMH JSON tool"
+echo "========================================"
@@ -1,4 +1,49 @@
 @echo off
+setlocal
+
+rem Usage: run-tests.bat [--failed] [--lane main|quarantine] [--retry N] [--matrix "BROWSERS"]
+rem   --failed   run only the tests and data rows recorded in the last failure manifest
+rem   --lane     main skips quarantined flaky tests; quarantine runs only them and never
+rem              fails the build
+rem   --retry    retry failed tests up to N times within the run
+rem   --matrix   run the browser tests once per comma-separated browser, in parallel and headless;
+rem              quote the list, e.g. --matrix "chrome,firefox"
+
+set MVN_ARGS=
+:parse
+if "%~1"=="" goto run
+if "%~1"=="--failed" goto failed
+if "%~1"=="--lane" goto lane
+if "%~1"=="--retry" goto retry
+if "%~1"=="--matrix" goto matrix
+echo Unknown option: %~1
+exit /b 1
+
+:failed
+set MVN_ARGS=%MVN_ARGS% -Drun.mode=failed
+shift
+goto parse
+
+:lane
+set MVN_ARGS=%MVN_ARGS% -Drun.lane=%~2
+if "%~2"=="quarantine" set MVN_ARGS=%MVN_ARGS% -Dmaven.test.failure.ignore=true
+shift
+shift
+goto parse
+
+:retry
+set MVN_ARGS=%MVN_ARGS% -Dretry.count=%~2
+shift
+shift
+goto parse
+
+:matrix
+set MVN_ARGS=%MVN_ARGS% "-Dmatrix.browsers=%~2"
+shift
+shift
+goto parse
+
+:run
 echo ========================================
 echo Selenium Test Automation Framework
 echo ========================================
@@ -9,7 +54,7 @@ call mvn clean
 
 echo.
 echo Running tests...
-call mvn test
+call mvn test %MVN_ARGS%
 
 echo.
 echo ========================================
@@ -1,5 +1,41 @@
 #!/bin/bash
 
+# Usage: ./run-tests.sh [--failed] [--lane main|quarantine] [--retry N] [--matrix BROWSERS]
+#   --failed   run only the tests and data rows recorded in the last failure manifest
+#   --lane     main skips quarantined flaky tests; quarantine runs only them and never
+#              fails the build
+#   --retry    retry failed tests up to N times within the run
+#   --matrix   run the browser tests once per comma-separated browser, in parallel and headless
+
+MVN_ARGS=()
+while [ $# -gt 0 ]; do
+    case "$1" in
+        --failed)
+            MVN_ARGS+=("-Drun.mode=failed")
+            ;;
+        --lane)
+            shift
+            MVN_ARGS+=("-Drun.lane=$1")
+            if [ "$1" = "quarantine" ]; then
+                MVN_ARGS+=("-Dmaven.test.failure.ignore=true")
+            fi
+            ;;
+        --retry)
+            shift
+            MVN_ARGS+=("-Dretry.count=$1")
+            ;;
+        --matrix)
+            shift
+            MVN_ARGS+=("-Dmatrix.browsers=$1")
+            ;;
+        *)
+            echo "Unknown option: $1"
+            exit 1
+            ;;
+    esac
+    shift
+done
+
 echo "========================================"
 echo "Selenium Test Automation Framework"
 echo "========================================"
@@ -10,7 +46,7 @@ mvn clean
 
 echo ""
 echo "Running tests..."
-mvn test
+mvn test "${MVN_ARGS[@]}"
 
 echo ""
 echo "========================================"
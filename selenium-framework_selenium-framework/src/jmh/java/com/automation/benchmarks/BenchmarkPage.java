@@ -0,0 +1,35 @@
+package com.automation.benchmarks;
+
+import com.automation.base.BasePage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+/**
+ * Page object exposing the BasePage action wrappers to benchmarks
+ */
+public class BenchmarkPage extends BasePage {
+
+    @FindBy(id = "field")
+    private WebElement field;
+
+    public BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public void click() {
+        clickElement(field, "Benchmark Field");
+    }
+
+    public void type(String text) {
+        enterText(field, text, "Benchmark Field");
+    }
+
+    public String text() {
+        return getElementText(field, "Benchmark Field");
+    }
+
+    public boolean displayed() {
+        return isElementDisplayed(field, "Benchmark Field");
+    }
+}
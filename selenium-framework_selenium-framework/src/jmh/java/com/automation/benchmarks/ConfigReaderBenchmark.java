@@ -0,0 +1,46 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ConfigReader lookups, including system property overrides and number parsing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigReaderBenchmark {
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigReader.getProperty("app.url");
+    }
+
+    @Benchmark
+    public String getPropertyWithDefault() {
+        return ConfigReader.getProperty("session.cache.dir", "target/session-cache");
+    }
+
+    @Benchmark
+    public int getExplicitWait() {
+        return ConfigReader.getExplicitWait();
+    }
+
+    @Benchmark
+    public boolean isHeadless() {
+        return ConfigReader.isHeadless();
+    }
+}
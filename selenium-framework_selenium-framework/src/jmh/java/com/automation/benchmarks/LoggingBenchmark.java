@@ -0,0 +1,87 @@
+package com.automation.benchmarks;
+
+import com.automation.benchmarks.stub.StubWebDriver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-action logging overhead of the BasePage wrappers with the previous synchronous
+ * configuration versus the async logger configuration, plus the cost of building a message
+ * for a filtered-out level by concatenation versus parameterized logging.
+ * Both configurations write to target/jmh-logs only, so console output does not skew results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"log4j2-bench-sync.xml", "log4j2-bench-async.xml"})
+    public String config;
+
+    private final String elementName = "Email Field";
+    private final String text = "user@example.com";
+    private BenchmarkPage page;
+    private Logger filteredLogger;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        context.setConfigLocation(getClass().getResource("/" + config).toURI());
+        page = new BenchmarkPage(new StubWebDriver());
+        filteredLogger = LogManager.getLogger("com.automation.benchmarks.filtered");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    public void clickElement() {
+        page.click();
+    }
+
+    @Benchmark
+    public void enterText() {
+        page.type(text);
+    }
+
+    @Benchmark
+    public String getElementText() {
+        return page.text();
+    }
+
+    @Benchmark
+    public boolean isElementDisplayed() {
+        return page.displayed();
+    }
+
+    @Benchmark
+    public void filteredConcatenatedMessage() {
+        filteredLogger.debug("Entered text in " + elementName + ": " + text);
+    }
+
+    @Benchmark
+    public void filteredParameterizedMessage() {
+        filteredLogger.debug("Entered text in {}: {}", elementName, text);
+    }
+}
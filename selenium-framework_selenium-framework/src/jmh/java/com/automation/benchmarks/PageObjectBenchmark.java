@@ -0,0 +1,63 @@
+package com.automation.benchmarks;
+
+import com.automation.benchmarks.stub.StubWebDriver;
+import com.automation.pages.FacebookLoginPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of page object construction (PageFactory proxies, WebDriverWait, config lookup)
+ * and of the BasePage action wrappers against a stub driver
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageObjectBenchmark {
+    private StubWebDriver driver;
+    private BenchmarkPage page;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        driver = new StubWebDriver();
+        page = new BenchmarkPage(driver);
+    }
+
+    @Benchmark
+    public FacebookLoginPage initFacebookLoginPage() {
+        return new FacebookLoginPage(driver);
+    }
+
+    @Benchmark
+    public void clickElement() {
+        page.click();
+    }
+
+    @Benchmark
+    public void enterText() {
+        page.type("user@example.com");
+    }
+
+    @Benchmark
+    public String getElementText() {
+        return page.text();
+    }
+
+    @Benchmark
+    public boolean isElementDisplayed() {
+        return page.displayed();
+    }
+}
@@ -0,0 +1,90 @@
+package com.automation.benchmarks;
+
+import com.automation.benchmarks.stub.StubWebDriver;
+import com.automation.utils.ExtentReportManager;
+import com.automation.utils.ScreenshotUtility;
+import com.aventstack.extentreports.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of Extent report calls and of encoding a 1080p failure screenshot for the report.
+ * Report tests accumulate in memory, so report calls run in fixed-size batches.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class ReportingBenchmark {
+    private StubWebDriver driver;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ExtentReportManager.initReports();
+        ExtentReportManager.createTest("benchmark", "Reporting benchmark");
+        driver = new StubWebDriver();
+        driver.setScreenshot(renderPage(1920, 1080));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 1000)
+    @Measurement(iterations = 20, batchSize = 1000)
+    public void createTest() {
+        ExtentReportManager.createTest("testMethod", "Benchmark test");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 1000)
+    @Measurement(iterations = 20, batchSize = 1000)
+    public void logStep() {
+        ExtentReportManager.getTest().log(Status.INFO, "Email field is displayed");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public String encodeScreenshotAsBase64() {
+        return ScreenshotUtility.captureScreenshotAsBase64(driver);
+    }
+
+    /**
+     * Render a page-like PNG so encoding cost reflects a realistic compressed size
+     */
+    static byte[] renderPage(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(new Color(66, 103, 178));
+        graphics.fillRect(0, 0, width, 80);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 120; y < height - 40; y += 28) {
+            graphics.drawString("Lorem ipsum dolor sit amet, consectetur adipiscing elit " + y, 40, y);
+        }
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+}
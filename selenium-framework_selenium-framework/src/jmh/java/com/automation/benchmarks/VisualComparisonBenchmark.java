@@ -0,0 +1,103 @@
+package com.automation.benchmarks;
+
+import com.automation.visual.ComparisonResult;
+import com.automation.visual.ImageComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparisons per second of 1080p screenshots against a baseline, with a naive
+ * getRGB loop as the reference point.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VisualComparisonBenchmark {
+    private static final List<Rectangle> BANNER = List.of(new Rectangle(1400, 200, 480, 120));
+
+    private final ImageComparator comparator = new ImageComparator(4, 0.001, 0.05, 12, 256);
+    private BufferedImage baseline;
+    private BufferedImage identical;
+    private BufferedImage smallDiff;
+    private BufferedImage different;
+    private BufferedImage banner;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        baseline = decode(ReportingBenchmark.renderPage(1920, 1080));
+        identical = decode(ReportingBenchmark.renderPage(1920, 1080));
+        smallDiff = withRegion(identical, new Rectangle(900, 500, 60, 24), Color.BLACK);
+        different = withRegion(identical, new Rectangle(0, 0, 1920, 1080), new Color(30, 30, 30));
+        banner = withRegion(identical, BANNER.get(0), Color.ORANGE);
+    }
+
+    @Benchmark
+    public ComparisonResult identical() {
+        return comparator.compare(baseline, identical, Collections.emptyList());
+    }
+
+    @Benchmark
+    public ComparisonResult smallDiff() {
+        return comparator.compare(baseline, smallDiff, Collections.emptyList());
+    }
+
+    @Benchmark
+    public ComparisonResult clearlyDifferent() {
+        return comparator.compare(baseline, different, Collections.emptyList());
+    }
+
+    @Benchmark
+    public ComparisonResult ignoredRegion() {
+        return comparator.compare(baseline, banner, BANNER);
+    }
+
+    @Benchmark
+    public long naiveGetRgb() {
+        long diff = 0;
+        for (int y = 0; y < baseline.getHeight(); y++) {
+            for (int x = 0; x < baseline.getWidth(); x++) {
+                if (baseline.getRGB(x, y) != smallDiff.getRGB(x, y)) {
+                    diff++;
+                }
+            }
+        }
+        return diff;
+    }
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(png));
+    }
+
+    private static BufferedImage withRegion(BufferedImage source, Rectangle area, Color color) {
+        BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.drawImage(source, 0, 0, null);
+        graphics.setColor(color);
+        graphics.fill(area);
+        graphics.dispose();
+        return image;
+    }
+}
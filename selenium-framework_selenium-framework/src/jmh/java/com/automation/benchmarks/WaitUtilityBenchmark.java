@@ -0,0 +1,55 @@
+package com.automation.benchmarks;
+
+import com.automation.benchmarks.stub.StubWebDriver;
+import com.automation.utils.WaitUtility;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of WaitUtility condition evaluation when the condition is already satisfied
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitUtilityBenchmark {
+    private final By locator = By.id("email");
+    private StubWebDriver driver;
+    private WebElement element;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        driver = new StubWebDriver();
+        element = driver.findElement(locator);
+    }
+
+    @Benchmark
+    public WebElement waitForVisibility() {
+        return WaitUtility.waitForVisibility(driver, element, 10);
+    }
+
+    @Benchmark
+    public WebElement waitForClickability() {
+        return WaitUtility.waitForClickability(driver, element, 10);
+    }
+
+    @Benchmark
+    public WebElement waitForPresence() {
+        return WaitUtility.waitForPresence(driver, locator, 10);
+    }
+}
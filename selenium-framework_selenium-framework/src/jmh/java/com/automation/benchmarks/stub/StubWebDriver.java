@@ -0,0 +1,107 @@
+package com.automation.benchmarks.stub;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory WebDriver that answers every lookup with the same stub element, so benchmarks
+ * measure framework overhead without a browser
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+    private final WebElement element = new StubWebElement("Stub text");
+    private byte[] screenshot = new byte[0];
+    private String currentUrl = "about:blank";
+
+    /**
+     * Set the PNG bytes returned by screenshot calls
+     */
+    public void setScreenshot(byte[] png) {
+        this.screenshot = png;
+    }
+
+    @Override
+    public void get(String url) {
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Stub Page";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.singletonList(element);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return element;
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html><body></body></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("stub");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("Window switching is not stubbed");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("Navigation is not stubbed");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("Driver options are not stubbed");
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return script.contains("readyState") ? "complete" : null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return target.convertFromPngBytes(screenshot);
+    }
+}
@@ -0,0 +1,108 @@
+package com.automation.benchmarks.stub;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory WebElement that is always visible and enabled, used to benchmark framework overhead
+ */
+public class StubWebElement implements WebElement {
+    private final StringBuilder value = new StringBuilder();
+    private final String text;
+
+    public StubWebElement(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public void click() {
+    }
+
+    @Override
+    public void submit() {
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        for (CharSequence keys : keysToSend) {
+            value.append(keys);
+        }
+    }
+
+    @Override
+    public void clear() {
+        value.setLength(0);
+    }
+
+    @Override
+    public String getTagName() {
+        return "input";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return "value".equals(name) ? value.toString() : null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return this;
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("Element screenshots are not stubbed");
+    }
+}
@@ -6,19 +6,33 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.Annotations;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import com.automation.utils.ConfigReader;
+import com.automation.utils.PerformanceCollector;
+import com.automation.utils.TestImpactRecorder;
+import com.automation.visual.ComparisonResult;
+import com.automation.visual.VisualBaseline;
 
 /**
  * Base Page class with common methods for all page objects
  */
 public class BasePage {
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
     protected WebDriver driver;
     protected WebDriverWait wait;
 
@@ -28,7 +42,28 @@ public class BasePage {
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigReader.getExplicitWait()));
-        PageFactory.initElements(driver, this);
+        if (ConfigReader.isImpactRecordingEnabled()) {
+            PageFactory.initElements(new TrackingFieldDecorator(driver), this);
+            for (Class<?> type = getClass(); type != BasePage.class; type = type.getSuperclass()) {
+                TestImpactRecorder.recordClass(type);
+            }
+        } else {
+            PageFactory.initElements(driver, this);
+        }
+    }
+
+    /**
+     * Record the page-object method that called a BasePage action for test impact analysis
+     */
+    private void recordCaller() {
+        if (!TestImpactRecorder.isRecording()) {
+            return;
+        }
+        Optional<StackWalker.StackFrame> caller = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getDeclaringClass() != BasePage.class
+                        && BasePage.class.isAssignableFrom(frame.getDeclaringClass()))
+                .findFirst());
+        caller.ifPresent(frame -> TestImpactRecorder.recordMethod(frame.getDeclaringClass(), frame.getMethodName()));
     }
 
     /**
@@ -49,12 +84,13 @@ public class BasePage {
      * Click on element
      */
     protected void clickElement(WebElement element, String elementName) {
+        recordCaller();
         try {
             waitForElementToBeClickable(element);
             element.click();
-            logger.info("Clicked on: " + elementName);
+            logger.debug("Clicked on: {}", elementName);
         } catch (Exception e) {
-            logger.error("Failed to click on: " + elementName);
+            logger.error("Failed to click on: {}", elementName);
             throw e;
         }
     }
@@ -63,13 +99,15 @@ public class BasePage {
      * Enter text in element
      */
     protected void enterText(WebElement element, String text, String elementName) {
+        recordCaller();
         try {
             waitForElementToBeVisible(element);
             element.clear();
             element.sendKeys(text);
-            logger.info("Entered text in " + elementName + ": " + text);
+            // Typed text may be a password, so it is masked like in the failure command history
+            logger.debug("Entered text in {}: ***", elementName);
         } catch (Exception e) {
-            logger.error("Failed to enter text in: " + elementName);
+            logger.error("Failed to enter text in: {}", elementName);
             throw e;
         }
     }
@@ -78,13 +116,14 @@ public class BasePage {
      * Get text from element
      */
     protected String getElementText(WebElement element, String elementName) {
+        recordCaller();
         try {
             waitForElementToBeVisible(element);
             String text = element.getText();
-            logger.info("Retrieved text from " + elementName + ": " + text);
+            logger.debug("Retrieved text from {}: {}", elementName, text);
             return text;
         } catch (Exception e) {
-            logger.error("Failed to get text from: " + elementName);
+            logger.error("Failed to get text from: {}", elementName);
             throw e;
         }
     }
@@ -93,12 +132,13 @@ public class BasePage {
      * Check if element is displayed
      */
     protected boolean isElementDisplayed(WebElement element, String elementName) {
+        recordCaller();
         try {
             boolean isDisplayed = element.isDisplayed();
-            logger.info(elementName + " is displayed: " + isDisplayed);
+            logger.debug("{} is displayed: {}", elementName, isDisplayed);
             return isDisplayed;
         } catch (Exception e) {
-            logger.info(elementName + " is not displayed");
+            logger.debug("{} is not displayed", elementName);
             return false;
         }
     }
@@ -107,17 +147,19 @@ public class BasePage {
      * Scroll to element
      */
     protected void scrollToElement(WebElement element) {
+        recordCaller();
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].scrollIntoView(true);", element);
-        logger.info("Scrolled to element");
+        logger.debug("Scrolled to element");
     }
 
     /**
      * Get page title
      */
     protected String getPageTitle() {
+        recordCaller();
         String title = driver.getTitle();
-        logger.info("Current page title: " + title);
+        logger.debug("Current page title: {}", title);
         return title;
     }
 
@@ -125,17 +167,72 @@ public class BasePage {
      * Get current URL
      */
     public String getCurrentUrl() {
+        recordCaller();
         String url = driver.getCurrentUrl();
-        logger.info("Current URL: " + url);
+        logger.debug("Current URL: {}", url);
         return url;
     }
 
     /**
-     * Wait for page to load
+     * Wait for page to load, then capture performance metrics and assert the page's budget
      */
     protected void waitForPageLoad() {
         wait.until(webDriver -> ((JavascriptExecutor) webDriver)
                 .executeScript("return document.readyState").equals("complete"));
-        logger.info("Page loaded successfully");
+        logger.debug("Page loaded successfully");
+        if (ConfigReader.isPerformanceCaptureEnabled()) {
+            PerformanceCollector.collectAndAssertBudget(driver, getClass());
+        }
+    }
+
+    /**
+     * Compare a screenshot of the page with its visual baseline, ignoring @VisualIgnore elements
+     */
+    public ComparisonResult assertVisualMatch(String name) {
+        recordCaller();
+        ComparisonResult result = VisualBaseline.check(driver, name, getVisualIgnoreElements());
+        if (!result.isMatch()) {
+            throw new AssertionError("Visual regression in " + name + ": " + result);
+        }
+        return result;
+    }
+
+    /**
+     * Collect the elements of fields annotated with @VisualIgnore. Located fields are looked up
+     * without the implicit wait, so absent elements (e.g. error banners) cost no waiting.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<WebElement> getVisualIgnoreElements() {
+        List<WebElement> elements = new ArrayList<>();
+        Duration implicitWait = driver.manage().timeouts().getImplicitWaitTimeout();
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            for (Class<?> type = getClass(); type != BasePage.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!field.isAnnotationPresent(VisualIgnore.class)) {
+                        continue;
+                    }
+                    if (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                            || field.isAnnotationPresent(FindAll.class)) {
+                        elements.addAll(driver.findElements(new Annotations(field).buildBy()));
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        Object value = field.get(this);
+                        if (value instanceof WebElement) {
+                            elements.add((WebElement) value);
+                        } else if (value instanceof List) {
+                            elements.addAll((List<WebElement>) value);
+                        }
+                    } catch (IllegalAccessException e) {
+                        logger.warn("Cannot read visual ignore field {}: {}", field.getName(), e.getMessage());
+                    }
+                }
+            }
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+        return elements;
     }
 }
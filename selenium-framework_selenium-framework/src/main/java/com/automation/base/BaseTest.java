@@ -1,18 +1,23 @@
 package com.automation.base;
 
+import com.automation.driver.CommandHistory;
+import com.automation.driver.DriverFactory;
+import com.automation.driver.ProfileTemplates;
+import com.automation.utils.BrowserProcessMonitor;
+import com.automation.utils.CircuitBreaker;
 import com.automation.utils.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.automation.utils.ExtentReportManager;
+import com.automation.utils.PerformanceCollector;
+import com.automation.utils.SessionStateCache;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
 
 import java.time.Duration;
+import java.util.function.Predicate;
 
 /**
  * Base class for all tests - handles WebDriver initialization and teardown
@@ -20,56 +25,74 @@ import java.time.Duration;
 public class BaseTest {
     private static final Logger logger = LogManager.getLogger(BaseTest.class);
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static volatile DriverFactory driverFactory;
 
     /**
-     * Initialize WebDriver based on browser configuration
+     * Initialize WebDriver based on the browser configuration of the current thread; skips the
+     * test while the browser's circuit is open
      */
     public static void initializeDriver() {
-        String browser = ConfigReader.getBrowser().toLowerCase();
-        logger.info("Initializing " + browser + " driver");
-
-        switch (browser) {
-            case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (ConfigReader.isHeadless()) {
-                    chromeOptions.addArguments("--headless");
-                }
-                chromeOptions.addArguments("--start-maximized");
-                chromeOptions.addArguments("--disable-notifications");
-                chromeOptions.addArguments("--disable-popup-blocking");
-                driver.set(new ChromeDriver(chromeOptions));
-                break;
-
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (ConfigReader.isHeadless()) {
-                    firefoxOptions.addArguments("--headless");
-                }
-                driver.set(new FirefoxDriver(firefoxOptions));
-                break;
-
-            case "edge":
-                WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (ConfigReader.isHeadless()) {
-                    edgeOptions.addArguments("--headless");
-                }
-                driver.set(new EdgeDriver(edgeOptions));
-                break;
-
-            default:
-                logger.error("Invalid browser: " + browser);
-                throw new IllegalArgumentException("Browser not supported: " + browser);
+        DriverConfig config = DriverConfig.current();
+        CircuitBreaker.checkBrowser(config.getBrowser());
+        try {
+            driver.set(createDriver(config));
+        } catch (RuntimeException e) {
+            CircuitBreaker.recordBrowser(config.getBrowser(), e);
+            throw e;
         }
+        CircuitBreaker.recordBrowser(config.getBrowser(), null);
+        logger.info("WebDriver initialized successfully");
+    }
+
+    /**
+     * Create a configured WebDriver that is not bound to the current thread
+     */
+    public static WebDriver createDriver(String browserName, boolean headless) {
+        return createDriver(new DriverConfig(browserName, headless, null));
+    }
+
+    /**
+     * Create a WebDriver for a browser configuration that is not bound to the current thread
+     */
+    public static WebDriver createDriver(DriverConfig config) {
+        logger.info("Initializing {} driver", config);
+        WebDriver webDriver = CommandHistory.decorate(getDriverFactory().create(config));
+        Dimension windowSize = config.getWindowSize();
 
         // Set timeouts
-        getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
-        getDriver().manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
-        getDriver().manage().window().maximize();
+        webDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
+        webDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+        if (windowSize != null) {
+            webDriver.manage().window().setSize(windowSize);
+        } else {
+            webDriver.manage().window().maximize();
+        }
+        if (!getDriverFactory().isRemote()) {
+            // Processes of remote sessions run on the grid node, not on this machine
+            BrowserProcessMonitor.track(webDriver);
+        }
+        return webDriver;
+    }
 
-        logger.info("WebDriver initialized successfully");
+    /**
+     * Get the factory that starts browser sessions, as configured by driver.factory
+     */
+    public static DriverFactory getDriverFactory() {
+        if (driverFactory == null) {
+            synchronized (BaseTest.class) {
+                if (driverFactory == null) {
+                    driverFactory = DriverFactory.fromConfig();
+                }
+            }
+        }
+        return driverFactory;
+    }
+
+    /**
+     * Replace the factory that starts browser sessions
+     */
+    public static void setDriverFactory(DriverFactory factory) {
+        driverFactory = factory;
     }
 
     /**
@@ -85,16 +108,79 @@ public class BaseTest {
     public static void quitDriver() {
         if (driver.get() != null) {
             logger.info("Closing browser");
-            driver.get().quit();
-            driver.remove();
+            try {
+                closeDriver(driver.get());
+            } finally {
+                driver.remove();
+            }
+        }
+    }
+
+    /**
+     * Quit a driver and make sure its browser process tree is gone
+     */
+    public static void closeDriver(WebDriver webDriver) {
+        BrowserProcessMonitor.sample(webDriver);
+        try {
+            webDriver.quit();
+        } finally {
+            ProfileTemplates.release(webDriver);
+            CommandHistory.release(webDriver);
+            BrowserProcessMonitor.ProcessStats peak = BrowserProcessMonitor.release(webDriver);
+            if (peak != null) {
+                logger.info("Browser process peak usage: {}", peak);
+                ExtentTest test = ExtentReportManager.getTest();
+                if (test != null) {
+                    test.log(Status.INFO, "Browser process peak usage: " + peak);
+                }
+            }
         }
     }
 
     /**
-     * Navigate to URL
+     * Replace the current driver with a fresh session if its browser crossed a resource threshold
+     */
+    public static boolean recycleDriverIfUnhealthy() {
+        if (getDriver() == null || !BrowserProcessMonitor.needsRecycle(getDriver())) {
+            return false;
+        }
+        logger.info("Recycling browser session");
+        quitDriver();
+        initializeDriver();
+        BrowserProcessMonitor.recordRecycled();
+        return true;
+    }
+
+    /**
+     * Navigate to URL; skips the test while the circuit of the URL's host is open
      */
     public static void navigateToUrl(String url) {
-        logger.info("Navigating to: " + url);
-        getDriver().get(url);
+        logger.info("Navigating to: {}", url);
+        CircuitBreaker.checkUrl(url);
+        try {
+            getDriver().get(url);
+        } catch (RuntimeException e) {
+            CircuitBreaker.recordUrl(url, e);
+            throw e;
+        }
+        CircuitBreaker.recordUrl(url, null);
+        if (ConfigReader.isPerformanceCaptureEnabled()) {
+            PerformanceCollector.collect(getDriver(), "navigate " + url);
+        }
+    }
+
+    /**
+     * Restore cached session state for a named setup flow, or run the flow and cache its state
+     */
+    public static boolean restoreSessionOrRun(String flowName, Runnable setupFlow) {
+        return SessionStateCache.restoreOrRecord(getDriver(), flowName, setupFlow);
+    }
+
+    /**
+     * Restore cached session state for a named setup flow, or run the flow and cache its state;
+     * a restored state the verifier rejects (e.g. logged out) is dropped and the flow replayed
+     */
+    public static boolean restoreSessionOrRun(String flowName, Runnable setupFlow, Predicate<WebDriver> verifier) {
+        return SessionStateCache.restoreOrRecord(getDriver(), flowName, setupFlow, verifier);
     }
 }
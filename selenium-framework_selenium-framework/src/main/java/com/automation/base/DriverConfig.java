@@ -0,0 +1,119 @@
+package com.automation.base;
+
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.Dimension;
+
+import java.util.Map;
+
+/**
+ * Browser, headless flag and window size used to create a driver. Each thread has its own
+ * configuration, taken from the parameters of the running TestNG test with config.properties
+ * as the fallback, so a matrix run can drive different browsers concurrently.
+ */
+public class DriverConfig {
+    public static final String BROWSER = "browser";
+    public static final String HEADLESS = "headless";
+    public static final String WINDOW_SIZE = "window.size";
+
+    private static ThreadLocal<DriverConfig> current = new ThreadLocal<>();
+
+    private final String browser;
+    private final boolean headless;
+    private final Dimension windowSize;
+
+    public DriverConfig(String browser, boolean headless, Dimension windowSize) {
+        this.browser = browser.trim().toLowerCase();
+        this.headless = headless;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Get the configuration from config.properties
+     */
+    public static DriverConfig fromConfig() {
+        return new DriverConfig(ConfigReader.getBrowser(), ConfigReader.isHeadless(),
+                parseWindowSize(ConfigReader.getWindowSize()));
+    }
+
+    /**
+     * Get the configuration from TestNG parameters, using config.properties for missing ones
+     */
+    public static DriverConfig fromParameters(Map<String, String> parameters) {
+        String browser = parameters.get(BROWSER);
+        String headless = parameters.get(HEADLESS);
+        String windowSize = parameters.get(WINDOW_SIZE);
+        return new DriverConfig(browser == null ? ConfigReader.getBrowser() : browser,
+                headless == null ? ConfigReader.isHeadless() : Boolean.parseBoolean(headless),
+                parseWindowSize(windowSize == null ? ConfigReader.getWindowSize() : windowSize));
+    }
+
+    /**
+     * Get the configuration of the current thread
+     */
+    public static DriverConfig current() {
+        DriverConfig config = current.get();
+        return config == null ? fromConfig() : config;
+    }
+
+    /**
+     * Set the configuration of the current thread
+     */
+    public static void setCurrent(DriverConfig config) {
+        current.set(config);
+    }
+
+    /**
+     * Remove the configuration of the current thread
+     */
+    public static void clearCurrent() {
+        current.remove();
+    }
+
+    /**
+     * Parse a window size like 1366x768; empty means maximized
+     */
+    public static Dimension parseWindowSize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String[] parts = value.trim().toLowerCase().split("\\s*x\\s*");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Window size must look like 1366x768: " + value);
+        }
+        return new Dimension(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Get the window size, or null to maximize the window
+     */
+    public Dimension getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Get a short name like chrome-headless-1366x768, used in report and file names
+     */
+    public String getName() {
+        StringBuilder name = new StringBuilder(browser);
+        if (headless) {
+            name.append("-headless");
+        }
+        if (windowSize != null) {
+            name.append('-').append(windowSize.getWidth()).append('x').append(windowSize.getHeight());
+        }
+        return name.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.automation.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Performance budget for a page object, asserted after each page load.
+ * A negative value means the metric is not budgeted.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PerformanceBudget {
+
+    /**
+     * Maximum time until DOMContentLoaded finished, in milliseconds
+     */
+    long domContentLoadedMs() default -1;
+
+    /**
+     * Maximum time until the load event finished, in milliseconds
+     */
+    long loadMs() default -1;
+
+    /**
+     * Maximum time to first contentful paint, in milliseconds
+     */
+    long firstContentfulPaintMs() default -1;
+
+    /**
+     * Maximum bytes transferred for the document and its resources, in kilobytes
+     */
+    long transferSizeKb() default -1;
+
+    /**
+     * Maximum number of resources requested by the page
+     */
+    int resourceCount() default -1;
+}
@@ -0,0 +1,41 @@
+package com.automation.base;
+
+import com.automation.utils.TestImpactRecorder;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * PageFactory field decorator that records each access to a @FindBy element for test
+ * impact analysis, then delegates to Selenium's lazy element proxy
+ */
+public class TrackingFieldDecorator extends DefaultFieldDecorator {
+
+    public TrackingFieldDecorator(SearchContext searchContext) {
+        super(new DefaultElementLocatorFactory(searchContext));
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        Object element = super.decorate(loader, field);
+        if (element == null || !Proxy.isProxyClass(element.getClass())) {
+            return element;
+        }
+        Class<?> page = field.getDeclaringClass();
+        String name = field.getName();
+        InvocationHandler recorder = (proxy, method, args) -> {
+            TestImpactRecorder.recordField(page, name);
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return Proxy.newProxyInstance(loader, element.getClass().getInterfaces(), recorder);
+    }
+}
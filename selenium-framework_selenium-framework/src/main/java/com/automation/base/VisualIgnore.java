@@ -0,0 +1,15 @@
+package com.automation.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a page-object element whose area is excluded from visual comparisons,
+ * for content that changes between runs such as dates, ads or error banners
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface VisualIgnore {
+}
@@ -0,0 +1,195 @@
+package com.automation.data;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.FailureManifest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Feeds streamed test data rows to TestNG data providers, applying the row filter,
+ * ID selection, sampling rate and limit configured in config.properties, and in
+ * run.mode=failed only the rows recorded in the failure manifest
+ */
+public class TestDataProvider {
+    private static final Logger logger = LogManager.getLogger(TestDataProvider.class);
+
+    /**
+     * Lazily iterate the configured selection of rows as data provider parameters
+     */
+    public static Iterator<Object[]> rows(String location) {
+        return rows(location, row -> true);
+    }
+
+    /**
+     * Lazily iterate the configured selection of rows that also match a filter
+     */
+    public static Iterator<Object[]> rows(String location, Predicate<TestDataRow> filter) {
+        TestDataReader reader = TestDataReader.open(location);
+        SelectingIterator rows = new SelectingIterator(reader,
+                configuredSelection(reader.getSource()).and(filter), ConfigReader.getDataLimit());
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[]{rows.next()};
+            }
+        };
+    }
+
+    /**
+     * Stream the configured selection of rows; close the stream to release the file early
+     */
+    public static Stream<TestDataRow> stream(String location) {
+        TestDataReader reader = TestDataReader.open(location);
+        SelectingIterator rows = new SelectingIterator(reader,
+                configuredSelection(reader.getSource()), ConfigReader.getDataLimit());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Decide if a row is part of a sample. The decision depends only on the row ID, rate and
+     * seed, so the same rows are picked on every run and on every machine.
+     */
+    public static boolean isSampled(String rowId, double rate, long seed) {
+        if (rate >= 1.0) {
+            return true;
+        }
+        if (rate <= 0.0) {
+            return false;
+        }
+        // SplitMix64 finalizer spreads String.hashCode over 64 bits
+        long hash = rowId.hashCode() + seed * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (hash >>> 11) * 0x1.0p-53 < rate;
+    }
+
+    /**
+     * Parse a row filter of comma separated column=value pairs; a value may list
+     * alternatives separated by '|'. All pairs must match.
+     */
+    public static Predicate<TestDataRow> parseFilter(String filter) {
+        Map<String, Set<String>> conditions = new HashMap<>();
+        for (String pair : filter.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid data filter '" + pair + "', expected column=value");
+            }
+            conditions.put(pair.substring(0, separator).trim(),
+                    Arrays.stream(pair.substring(separator + 1).split("\\|"))
+                            .map(String::trim)
+                            .collect(Collectors.toSet()));
+        }
+        return row -> conditions.entrySet().stream()
+                .allMatch(condition -> condition.getValue().contains(row.get(condition.getKey())));
+    }
+
+    private static Predicate<TestDataRow> configuredSelection(String source) {
+        Predicate<TestDataRow> selection = row -> true;
+        if ("failed".equalsIgnoreCase(ConfigReader.getRunMode())) {
+            Set<String> failedRows = FailureManifest.getFailedRows(source);
+            if (!failedRows.isEmpty()) {
+                selection = selection.and(row -> failedRows.contains(row.getId()));
+            }
+        }
+        String filter = ConfigReader.getDataFilter();
+        if (!filter.isEmpty()) {
+            selection = selection.and(parseFilter(filter));
+        }
+        String ids = ConfigReader.getDataIds();
+        if (!ids.isEmpty()) {
+            Set<String> selected = new HashSet<>(Arrays.asList(ids.split("\\s*,\\s*")));
+            selection = selection.and(row -> selected.contains(row.getId()));
+        }
+        double rate = ConfigReader.getDataSampleRate();
+        long seed = ConfigReader.getDataSampleSeed();
+        if (rate < 1.0) {
+            selection = selection.and(row -> isSampled(row.getId(), rate, seed));
+        }
+        return selection;
+    }
+
+    /**
+     * Pulls rows from a reader until one matches, stopping after the limit is reached
+     */
+    private static class SelectingIterator implements Iterator<TestDataRow> {
+        private final TestDataReader reader;
+        private final Predicate<TestDataRow> selection;
+        private final int limit;
+        private TestDataRow nextRow;
+        private int read;
+        private int selected;
+        private boolean closed;
+
+        SelectingIterator(TestDataReader reader, Predicate<TestDataRow> selection, int limit) {
+            this.reader = reader;
+            this.selection = selection;
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            while (nextRow == null && !closed) {
+                if ((limit > 0 && selected >= limit) || !reader.hasNext()) {
+                    close();
+                    break;
+                }
+                TestDataRow row = reader.next();
+                read++;
+                if (selection.test(row)) {
+                    selected++;
+                    nextRow = row;
+                }
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public synchronized TestDataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TestDataRow row = nextRow;
+            nextRow = null;
+            return row;
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close test data reader: {}", e.getMessage());
+            }
+            logger.info("Selected {} of {} rows read from {}", selected, read, reader.getSource());
+        }
+    }
+}
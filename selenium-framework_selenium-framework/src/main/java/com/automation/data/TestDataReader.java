@@ -0,0 +1,294 @@
+package com.automation.data;
+
+import com.automation.utils.JsonUtility;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams rows from a CSV, JSON array or JSON Lines file one at a time, so only the current
+ * row is held in memory. The reader closes its file once the last row has been read.
+ */
+public abstract class TestDataReader implements Iterator<TestDataRow>, Closeable {
+    private static final Json JSON = new Json();
+
+    private final String source;
+    private final BufferedReader reader;
+    private TestDataRow nextRow;
+    private int rowNumber;
+    private boolean finished;
+
+    protected TestDataReader(String source, BufferedReader reader) {
+        this.source = source;
+        this.reader = reader;
+    }
+
+    /**
+     * Open a data file from the file system or, if no such file exists, from the classpath.
+     * The format is chosen by extension: .csv, .json (array of objects) or .jsonl.
+     */
+    public static TestDataReader open(String location) {
+        BufferedReader reader = openReader(location);
+        String name = Paths.get(location).getFileName().toString();
+        String lower = name.toLowerCase();
+        try {
+            if (lower.endsWith(".csv")) {
+                return new CsvReader(name, reader);
+            }
+            if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+                return new JsonLinesReader(name, reader);
+            }
+            if (lower.endsWith(".json")) {
+                return new JsonArrayReader(name, reader);
+            }
+        } catch (RuntimeException e) {
+            closeQuietly(reader);
+            throw e;
+        }
+        closeQuietly(reader);
+        throw new IllegalArgumentException("Unsupported test data format: " + location);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !finished) {
+            try {
+                Map<String, String> values = readValues();
+                if (values == null) {
+                    close();
+                } else {
+                    rowNumber++;
+                    nextRow = new TestDataRow(rowId(values), source, values);
+                }
+            } catch (IOException e) {
+                closeQuietly(this);
+                throw new UncheckedIOException("Failed to read test data from " + source, e);
+            }
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public TestDataRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in " + source);
+        }
+        TestDataRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            finished = true;
+            reader.close();
+        }
+    }
+
+    /**
+     * Get the file name rows are read from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    protected BufferedReader getReader() {
+        return reader;
+    }
+
+    /**
+     * Read the next row's columns, or return null at the end of the file
+     */
+    protected abstract Map<String, String> readValues() throws IOException;
+
+    private String rowId(Map<String, String> values) {
+        String id = values.get("id");
+        return id == null || id.trim().isEmpty() ? source + "#" + rowNumber : id.trim();
+    }
+
+    private static BufferedReader openReader(String location) {
+        try {
+            Path path = Paths.get(location);
+            if (Files.isRegularFile(path)) {
+                return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open test data file " + location, e);
+        } catch (RuntimeException e) {
+            // Not a valid file system path, try the classpath
+        }
+        InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(location);
+        if (stream == null) {
+            throw new IllegalArgumentException("Test data file not found: " + location);
+        }
+        return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    private static String stringValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Map || value instanceof List) {
+            return JsonUtility.toJsonLine(value);
+        }
+        return String.valueOf(value);
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> map) {
+        Map<String, String> values = new LinkedHashMap<>();
+        map.forEach((key, value) -> values.put(key, stringValue(value)));
+        return values;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row; quoted fields may contain commas, quotes and line breaks
+     */
+    private static class CsvReader extends TestDataReader {
+        private final List<String> header;
+
+        CsvReader(String source, BufferedReader reader) {
+            super(source, reader);
+            try {
+                List<String> columns = readRecord();
+                if (columns == null) {
+                    throw new IllegalArgumentException("CSV test data has no header row: " + source);
+                }
+                columns.set(0, columns.get(0).replace("\uFEFF", ""));
+                columns.replaceAll(String::trim);
+                this.header = columns;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read CSV header from " + source, e);
+            }
+        }
+
+        @Override
+        protected Map<String, String> readValues() throws IOException {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                values.put(header.get(i), i < record.size() ? record.get(i) : "");
+            }
+            return values;
+        }
+
+        private List<String> readRecord() throws IOException {
+            BufferedReader reader = getReader();
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (fields.isEmpty() && field.length() == 0) {
+                        // Skip blank lines between records
+                        any = false;
+                        continue;
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * A JSON array of objects, read element by element with Selenium's streaming JsonInput
+     */
+    private static class JsonArrayReader extends TestDataReader {
+        private final JsonInput input;
+
+        JsonArrayReader(String source, BufferedReader reader) {
+            super(source, reader);
+            this.input = JSON.newInput(reader);
+            input.beginArray();
+        }
+
+        @Override
+        protected Map<String, String> readValues() {
+            if (!input.hasNext()) {
+                input.endArray();
+                return null;
+            }
+            return toStringMap(input.read(Json.MAP_TYPE));
+        }
+    }
+
+    /**
+     * One JSON object per line; blank lines are ignored
+     */
+    private static class JsonLinesReader extends TestDataReader {
+        JsonLinesReader(String source, BufferedReader reader) {
+            super(source, reader);
+        }
+
+        @Override
+        protected Map<String, String> readValues() throws IOException {
+            String line;
+            while ((line = getReader().readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    return toStringMap(JsonUtility.parseMap(line));
+                }
+            }
+            return null;
+        }
+    }
+}
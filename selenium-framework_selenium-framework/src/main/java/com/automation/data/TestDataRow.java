@@ -0,0 +1,62 @@
+package com.automation.data;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A single row of test data with a stable ID that identifies it in reports and reruns
+ */
+public class TestDataRow {
+    private final String id;
+    private final String source;
+    private final Map<String, String> values;
+
+    public TestDataRow(String id, String source, Map<String, String> values) {
+        this.id = id;
+        this.source = source;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * Get a column value, or an empty string if the row has no such column
+     */
+    public String get(String column) {
+        return values.getOrDefault(column, "");
+    }
+
+    /**
+     * Get a column value, or a default if the column is missing or blank
+     */
+    public String get(String column, String defaultValue) {
+        String value = values.get(column);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Get a column value as an int, or a default if the column is missing or blank
+     */
+    public int getInt(String column, int defaultValue) {
+        String value = values.get(column);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * The row ID, which TestNG and the report show as the test parameter
+     */
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package com.automation.driver;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.logging.Level;
+
+/**
+ * Builds browser options for a driver configuration, shared by local and remote sessions
+ */
+public class BrowserOptions {
+
+    /**
+     * Get the options for the browser, headless flag and window size of a configuration
+     */
+    public static MutableCapabilities forConfig(DriverConfig config) {
+        boolean headless = config.isHeadless();
+        Dimension windowSize = config.getWindowSize();
+
+        switch (config.getBrowser()) {
+            case "chrome":
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (headless) {
+                    chromeOptions.addArguments("--headless");
+                }
+                if (windowSize != null) {
+                    chromeOptions.addArguments("--window-size=" + windowSize.getWidth() + "," + windowSize.getHeight());
+                } else {
+                    chromeOptions.addArguments("--start-maximized");
+                }
+                chromeOptions.addArguments("--disable-notifications");
+                chromeOptions.addArguments("--disable-popup-blocking");
+                enableConsoleLog(chromeOptions);
+                return chromeOptions;
+
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                if (headless) {
+                    firefoxOptions.addArguments("--headless");
+                }
+                return firefoxOptions;
+
+            case "edge":
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (headless) {
+                    edgeOptions.addArguments("--headless");
+                }
+                enableConsoleLog(edgeOptions);
+                return edgeOptions;
+
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + config.getBrowser());
+        }
+    }
+
+    /**
+     * Let Chromium browsers keep their console log for failure artifacts
+     */
+    private static void enableConsoleLog(MutableCapabilities options) {
+        if (ConfigReader.isFailureArtifactsEnabled()) {
+            LoggingPreferences logging = new LoggingPreferences();
+            logging.enable(LogType.BROWSER, Level.ALL);
+            options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        }
+    }
+}
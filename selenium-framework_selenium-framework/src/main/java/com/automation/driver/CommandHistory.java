@@ -0,0 +1,137 @@
+package com.automation.driver;
+
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last failure.artifacts.command.history driver and element commands of a session
+ * in a ring buffer, so a failure bundle can show what the test did just before it failed.
+ * Typed text is masked.
+ */
+public class CommandHistory implements WebDriverListener {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final int MAX_ARGUMENTS_LENGTH = 200;
+    // Accessors that only return another interface, and Object methods
+    private static final Set<String> IGNORED = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "logs", "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final Map<WebDriver, CommandHistory> histories = new ConcurrentHashMap<>();
+
+    private final Deque<String> entries = new ArrayDeque<>();
+    private final ThreadLocal<Long> callStart = new ThreadLocal<>();
+    private final int capacity;
+
+    private CommandHistory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Wrap a driver so its commands are recorded; returns the driver unchanged when recording is off
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        int capacity = ConfigReader.getFailureArtifactsCommandHistory();
+        if (!ConfigReader.isFailureArtifactsEnabled() || capacity <= 0) {
+            return driver;
+        }
+        CommandHistory history = new CommandHistory(capacity);
+        WebDriver decorated = new EventFiringDecorator<>(history).decorate(driver);
+        histories.put(decorated, history);
+        return decorated;
+    }
+
+    /**
+     * Get the recorded commands of a driver, oldest first
+     */
+    public static List<String> get(WebDriver driver) {
+        CommandHistory history = driver == null ? null : histories.get(driver);
+        if (history == null) {
+            return Collections.emptyList();
+        }
+        synchronized (history.entries) {
+            return new ArrayList<>(history.entries);
+        }
+    }
+
+    /**
+     * Stop recording a driver after quit
+     */
+    public static void release(WebDriver driver) {
+        histories.remove(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        add(target, method, args, "ok");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable error = e.getTargetException();
+        String message = String.valueOf(error.getMessage()).split("\n", 2)[0];
+        add(target, method, args, "failed: " + error.getClass().getSimpleName() + ": " + message);
+    }
+
+    private void add(Object target, Method method, Object[] args, String outcome) {
+        if (IGNORED.contains(method.getName())) {
+            return;
+        }
+        Long start = callStart.get();
+        long millis = start == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        String entry = String.format("%s %s%s(%s) %d ms %s", LocalTime.now().format(TIME), describe(target),
+                method.getName(), formatArguments(method, args), millis, outcome);
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+        }
+    }
+
+    /**
+     * Name element targets by their locator, e.g. "[id: email]."; driver commands get no prefix
+     */
+    private static String describe(Object target) {
+        if (!(target instanceof WebElement)) {
+            return "";
+        }
+        String element = target.toString();
+        int locator = element.lastIndexOf("-> ");
+        return locator < 0 ? "element." : "[" + element.substring(locator + 3).replaceAll("]+$", "") + "].";
+    }
+
+    private static String formatArguments(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return "";
+        }
+        if ("sendKeys".equals(method.getName())) {
+            return "***";
+        }
+        String formatted = Arrays.deepToString(args);
+        formatted = formatted.substring(1, formatted.length() - 1).replace('\n', ' ');
+        return formatted.length() > MAX_ARGUMENTS_LENGTH
+                ? formatted.substring(0, MAX_ARGUMENTS_LENGTH) + "..." : formatted;
+    }
+}
@@ -0,0 +1,43 @@
+package com.automation.driver;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Creates browser sessions for a driver configuration. The implementation is chosen with
+ * driver.factory: local, remote, or the class name of a custom factory with a no-arg constructor.
+ */
+public interface DriverFactory {
+
+    /**
+     * Start a new browser session
+     */
+    WebDriver create(DriverConfig config);
+
+    /**
+     * Check if sessions run on another machine, so their browser processes are not local
+     */
+    default boolean isRemote() {
+        return false;
+    }
+
+    /**
+     * Create the factory configured by driver.factory
+     */
+    static DriverFactory fromConfig() {
+        String name = ConfigReader.getDriverFactory();
+        switch (name.toLowerCase()) {
+            case "local":
+                return new LocalDriverFactory();
+            case "remote":
+                return RemoteDriverFactory.fromConfig();
+            default:
+                try {
+                    return (DriverFactory) Class.forName(name).getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("Driver factory not supported: " + name, e);
+                }
+        }
+    }
+}
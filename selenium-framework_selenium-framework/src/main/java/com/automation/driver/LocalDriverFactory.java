@@ -0,0 +1,66 @@
+package com.automation.driver;
+
+import com.automation.base.DriverConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.nio.file.Path;
+
+/**
+ * Starts browsers on this machine through their local driver services, each with its own
+ * copy of a pre-built profile template when profile templates are enabled
+ */
+public class LocalDriverFactory implements DriverFactory {
+
+    @Override
+    public WebDriver create(DriverConfig config) {
+        MutableCapabilities options = BrowserOptions.forConfig(config);
+        Path profile = ProfileTemplates.newSessionProfile(config, templateOptions -> launch(config, templateOptions));
+        if (profile != null) {
+            ProfileTemplates.useProfile(options, profile);
+        }
+
+        long start = System.nanoTime();
+        WebDriver driver;
+        try {
+            driver = launch(config, options);
+        } catch (RuntimeException e) {
+            if (profile != null) {
+                ProfileTemplates.delete(profile);
+            }
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        SessionTimings.record(config.getName() + (profile != null ? " (profile template)" : ""), 0, elapsed, 0);
+        if (profile != null) {
+            ProfileTemplates.attach(driver, profile, elapsed);
+        }
+        return driver;
+    }
+
+    private static WebDriver launch(DriverConfig config, MutableCapabilities options) {
+        switch (config.getBrowser()) {
+            case "chrome":
+                WebDriverManager.chromedriver().setup();
+                return new ChromeDriver((ChromeOptions) options);
+
+            case "firefox":
+                WebDriverManager.firefoxdriver().setup();
+                return new FirefoxDriver((FirefoxOptions) options);
+
+            case "edge":
+                WebDriverManager.edgedriver().setup();
+                return new EdgeDriver((EdgeOptions) options);
+
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + config.getBrowser());
+        }
+    }
+}
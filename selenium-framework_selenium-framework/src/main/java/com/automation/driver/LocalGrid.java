@@ -0,0 +1,87 @@
+package com.automation.driver;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.grid.commands.Standalone;
+import org.openqa.selenium.grid.config.MapConfig;
+import org.openqa.selenium.grid.server.Server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standalone Selenium Grid (router, distributor, session queue and node) running inside the
+ * test JVM, so remote runs can be verified locally and in CI without a separate grid
+ */
+public class LocalGrid {
+    private static final Logger logger = LogManager.getLogger(LocalGrid.class);
+    private static Server<?> server;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocalGrid::stop, "local-grid-stop"));
+    }
+
+    /**
+     * Start the grid if it is not running yet and return its URL
+     */
+    public static synchronized URL start() {
+        if (server != null) {
+            return server.getUrl();
+        }
+        int port = ConfigReader.getGridLocalPort() > 0 ? ConfigReader.getGridLocalPort() : findFreePort();
+        int maxSessions = ConfigReader.getGridLocalMaxSessions();
+
+        Map<String, Object> node = new HashMap<>();
+        node.put("max-sessions", maxSessions);
+        node.put("override-max-sessions", true);
+        String browsers = ConfigReader.getGridLocalBrowsers();
+        if (browsers.isEmpty()) {
+            node.put("detect-drivers", true);
+        } else {
+            List<Map<String, Object>> drivers = new ArrayList<>();
+            for (String browser : Arrays.asList(browsers.split("\\s*,\\s*"))) {
+                String browserName = BrowserOptions.forConfig(new DriverConfig(browser, false, null)).getBrowserName();
+                drivers.add(Map.of("display-name", browser, "max-sessions", maxSessions,
+                        "stereotype", "{\"browserName\": \"" + browserName + "\"}"));
+            }
+            node.put("detect-drivers", false);
+            node.put("driver-configuration", drivers);
+        }
+
+        long start = System.nanoTime();
+        server = new Standalone().asServer(new MapConfig(Map.of(
+                "server", Map.of("host", "localhost", "port", port),
+                "node", node))).start();
+        logger.info("Local grid started at {} with {} session slots in {} ms", server.getUrl(), maxSessions,
+                (System.nanoTime() - start) / 1_000_000);
+        return server.getUrl();
+    }
+
+    /**
+     * Stop the grid if it was started
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+            logger.info("Local grid stopped");
+        }
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free port for the local grid", e);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.automation.driver;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.HasExtensions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Builds one tuned, pre-warmed browser profile per browser and run, and hands each local
+ * session its own copy. Copies are made with copy-on-write clones (cp --reflink) where the
+ * file system supports it; otherwise files the template marks read-only (unpacked
+ * extensions) are hard-linked and the rest copied. Session copies are deleted when the driver
+ * quits, the run directory on JVM exit, and directories left by dead runs on the next start.
+ */
+public class ProfileTemplates {
+    private static final Logger logger = LogManager.getLogger(ProfileTemplates.class);
+
+    private static final List<String> CHROMIUM_TUNING = List.of("--no-first-run", "--no-default-browser-check",
+            "--disable-background-networking", "--disable-component-update", "--disable-sync");
+    private static final String FIREFOX_TUNING = String.join("\n",
+            "user_pref(\"browser.shell.checkDefaultBrowser\", false);",
+            "user_pref(\"browser.startup.homepage_override.mstone\", \"ignore\");",
+            "user_pref(\"browser.aboutwelcome.enabled\", false);",
+            "user_pref(\"datareporting.policy.dataSubmissionEnabled\", false);",
+            "user_pref(\"toolkit.telemetry.reportingpolicy.firstRun\", false);",
+            "user_pref(\"app.update.auto\", false);",
+            "user_pref(\"extensions.update.enabled\", false);", "");
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Path> sessionProfiles = new ConcurrentHashMap<>();
+    private static final AtomicInteger copies = new AtomicInteger();
+    private static final AtomicLong copyNanos = new AtomicLong();
+    private static final AtomicInteger templatedLaunches = new AtomicInteger();
+    private static final AtomicLong templatedLaunchNanos = new AtomicLong();
+    private static volatile Path runDir;
+    private static Boolean reflinkSupported;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            Path dir = runDir;
+            if (dir != null) {
+                delete(dir);
+            }
+        }, "profile-cleanup"));
+    }
+
+    /**
+     * Create a copy of the browser's template for a new session, building the template first if
+     * needed. Returns null if templates are disabled or the template could not be built.
+     */
+    public static Path newSessionProfile(DriverConfig config, Function<MutableCapabilities, WebDriver> launcher) {
+        if (!ConfigReader.isProfileTemplateEnabled()) {
+            return null;
+        }
+        Template template = templates.computeIfAbsent(config.getBrowser(), browser -> build(config, launcher));
+        if (template.failed) {
+            return null;
+        }
+        Path target = getRunDir().resolve("sessions").resolve(config.getBrowser() + "-" + UUID.randomUUID());
+        long start = System.nanoTime();
+        try {
+            copy(template.dir, target);
+        } catch (IOException e) {
+            logger.warn("Could not copy {} profile template, using a fresh profile: {}", config.getBrowser(),
+                    e.getMessage());
+            delete(target);
+            return null;
+        }
+        copies.incrementAndGet();
+        copyNanos.addAndGet(System.nanoTime() - start);
+        return target;
+    }
+
+    /**
+     * Point browser options at a profile directory and add the template tuning. Chromium loads
+     * packed extensions from the options at every launch, so they are added to each session.
+     */
+    public static void useProfile(MutableCapabilities options, Path profile) {
+        if (options instanceof ChromiumOptions) {
+            ((ChromiumOptions<?>) options).addArguments("--user-data-dir=" + profile.toAbsolutePath());
+            ((ChromiumOptions<?>) options).addArguments(CHROMIUM_TUNING);
+            ((ChromiumOptions<?>) options).addExtensions(getExtensions());
+        } else if (options instanceof FirefoxOptions) {
+            ((FirefoxOptions) options).addArguments("-profile", profile.toAbsolutePath().toString());
+        }
+    }
+
+    /**
+     * Remember which profile copy a started session uses, and how long it took to launch
+     */
+    public static void attach(WebDriver driver, Path profile, long launchNanos) {
+        sessionProfiles.put(driver, profile);
+        templatedLaunches.incrementAndGet();
+        templatedLaunchNanos.addAndGet(launchNanos);
+    }
+
+    /**
+     * Delete the profile copy of a session after it quit
+     */
+    public static void release(WebDriver driver) {
+        Path profile = sessionProfiles.remove(driver);
+        if (profile != null) {
+            delete(profile);
+        }
+    }
+
+    /**
+     * Summarize template builds and launch times from templates versus fresh profiles for the report
+     */
+    public static String getSummary() {
+        if (templates.isEmpty()) {
+            return "not used";
+        }
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Template> entry : templates.entrySet()) {
+            Template template = entry.getValue();
+            summary.append(entry.getKey()).append(template.failed ? " template failed"
+                    : String.format(" template built in %d ms, fresh profile launch %d ms",
+                    TimeUnit.NANOSECONDS.toMillis(template.buildNanos),
+                    TimeUnit.NANOSECONDS.toMillis(template.freshLaunchNanos))).append("; ");
+        }
+        return summary.append(String.format("%d sessions from templates, copy avg %d ms, launch avg %d ms",
+                templatedLaunches.get(), TimeUnit.NANOSECONDS.toMillis(copyNanos.get() / Math.max(1, copies.get())),
+                TimeUnit.NANOSECONDS.toMillis(templatedLaunchNanos.get() / Math.max(1, templatedLaunches.get()))))
+                .toString();
+    }
+
+    /**
+     * Forget built templates and delete this run's profile directories
+     */
+    public static synchronized void clear() {
+        templates.clear();
+        sessionProfiles.clear();
+        if (runDir != null) {
+            delete(runDir);
+            runDir = null;
+        }
+    }
+
+    private static Template build(DriverConfig config, Function<MutableCapabilities, WebDriver> launcher) {
+        Path dir = getRunDir().resolve("template-" + config.getBrowser());
+        Template template = new Template(dir);
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(dir);
+            MutableCapabilities options = BrowserOptions.forConfig(config);
+            if (options instanceof FirefoxOptions) {
+                Files.write(dir.resolve("user.js"), FIREFOX_TUNING.getBytes(StandardCharsets.UTF_8));
+            }
+            useProfile(options, dir);
+
+            WebDriver driver = launcher.apply(options);
+            template.freshLaunchNanos = System.nanoTime() - start;
+            try {
+                if (driver instanceof HasExtensions) {
+                    for (File extension : getExtensions()) {
+                        ((HasExtensions) driver).installExtension(extension.toPath());
+                    }
+                }
+                warmUp(driver);
+            } finally {
+                driver.quit();
+            }
+            finish(dir);
+            template.buildNanos = System.nanoTime() - start;
+            if (ConfigReader.isProfileTemplateMeasureFresh()) {
+                template.freshLaunchNanos = measureFreshLaunch(config, launcher);
+            }
+            logger.info("Built {} profile template in {} ms (fresh profile launch {} ms)", config.getBrowser(),
+                    TimeUnit.NANOSECONDS.toMillis(template.buildNanos),
+                    TimeUnit.NANOSECONDS.toMillis(template.freshLaunchNanos));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not build {} profile template, sessions use fresh profiles: {}", config.getBrowser(),
+                    e.getMessage());
+            template.failed = true;
+            delete(dir);
+        }
+        return template;
+    }
+
+    /**
+     * Load the warm-up page so its resources are in the template's disk cache, then drop its state
+     */
+    private static void warmUp(WebDriver driver) {
+        String url = ConfigReader.getProfileTemplateWarmupUrl();
+        if (url.isEmpty()) {
+            driver.get("about:blank");
+            return;
+        }
+        try {
+            driver.get(url);
+            driver.manage().deleteAllCookies();
+        } catch (RuntimeException e) {
+            logger.warn("Profile template warm-up of {} failed: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove lock files of the closed browser and mark read-only paths so copies can share them
+     */
+    private static void finish(Path dir) throws IOException {
+        try (DirectoryStream<Path> locks = Files.newDirectoryStream(dir, "{Singleton*,lock,.parentlock,parent.lock}")) {
+            for (Path lock : locks) {
+                Files.deleteIfExists(lock);
+            }
+        }
+        for (String readOnly : splitList(ConfigReader.getProfileTemplateReadOnlyPaths())) {
+            Path path = dir.resolve(readOnly);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(Files::isRegularFile).forEach(file -> file.toFile().setWritable(false, false));
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the permission bits rather than access, which is always granted when running as root
+     */
+    private static boolean isReadOnly(Path file) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (view == null) {
+            return !Files.isWritable(file);
+        }
+        return !view.readAttributes().permissions().contains(PosixFilePermission.OWNER_WRITE);
+    }
+
+    private static long measureFreshLaunch(DriverConfig config, Function<MutableCapabilities, WebDriver> launcher)
+            throws IOException {
+        Path fresh = getRunDir().resolve("fresh-" + config.getBrowser());
+        Files.createDirectories(fresh);
+        MutableCapabilities options = BrowserOptions.forConfig(config);
+        useProfile(options, fresh);
+        try {
+            long start = System.nanoTime();
+            WebDriver driver = launcher.apply(options);
+            long elapsed = System.nanoTime() - start;
+            driver.quit();
+            return elapsed;
+        } finally {
+            delete(fresh);
+        }
+    }
+
+    /**
+     * Copy a profile directory, cloning files where the file system supports copy-on-write
+     */
+    static void copy(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        String mode = ConfigReader.getProfileTemplateCopyMode();
+        if ("reflink".equals(mode) || "auto".equals(mode) && isReflinkSupported()) {
+            runCopy("cp", "-a", "--reflink=auto", source.toString(), target.toString());
+            return;
+        }
+        boolean link = !"copy".equals(mode);
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path destination = target.resolve(source.relativize(file).toString());
+                if (link && attrs.isRegularFile() && isReadOnly(file)) {
+                    try {
+                        Files.createLink(destination, file);
+                        return FileVisitResult.CONTINUE;
+                    } catch (IOException | UnsupportedOperationException e) {
+                        logger.debug("Hard link not possible for {}, copying: {}", file, e.getMessage());
+                    }
+                }
+                Files.copy(file, destination, StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static synchronized boolean isReflinkSupported() {
+        if (reflinkSupported == null) {
+            reflinkSupported = false;
+            try {
+                Path probe = Files.createTempFile(getRunDir(), "reflink", ".probe");
+                try {
+                    // auto falls back to a plain copy and always succeeds, so only always shows support
+                    runCopy("cp", "--reflink=always", probe.toString(), probe + ".copy");
+                    reflinkSupported = true;
+                } finally {
+                    Files.deleteIfExists(probe);
+                    Files.deleteIfExists(Paths.get(probe + ".copy"));
+                }
+            } catch (IOException e) {
+                logger.debug("Copy-on-write clones not available, copying profiles in Java: {}", e.getMessage());
+            }
+            logger.info("Profile copies use {}", reflinkSupported ? "cp --reflink=auto" : "hard links and copies");
+        }
+        return reflinkSupported;
+    }
+
+    private static void runCopy(String... command) throws IOException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + " failed: " + output.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while copying profile", e);
+        }
+    }
+
+    /**
+     * Get this run's directory, removing directories of runs whose process is gone
+     */
+    private static synchronized Path getRunDir() {
+        if (runDir != null) {
+            return runDir;
+        }
+        Path root = Paths.get(ConfigReader.getProfileTemplateDir());
+        try {
+            Files.createDirectories(root);
+            try (DirectoryStream<Path> runs = Files.newDirectoryStream(root, "run-*")) {
+                for (Path run : runs) {
+                    long pid = Long.parseLong(run.getFileName().toString().substring(4));
+                    if (!ProcessHandle.of(pid).isPresent()) {
+                        logger.info("Removing profiles left by run {}", pid);
+                        delete(run);
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not clean up old profile directories: {}", e.getMessage());
+        }
+        runDir = root.resolve("run-" + ProcessHandle.current().pid());
+        return runDir;
+    }
+
+    private static List<File> getExtensions() {
+        List<File> extensions = new ArrayList<>();
+        for (String path : splitList(ConfigReader.getProfileTemplateExtensions())) {
+            extensions.add(new File(path));
+        }
+        return extensions;
+    }
+
+    /**
+     * Delete a directory tree; read-only files are made writable only if deleting them fails
+     */
+    public static void delete(Path dir) {
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    path.toFile().setWritable(true);
+                    if (!path.toFile().delete()) {
+                        logger.debug("Could not delete {}: {}", path, e.getMessage());
+                    }
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not delete profile directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static List<String> splitList(String value) {
+        return value.isEmpty() ? List.of() : Arrays.asList(value.trim().split("\\s*,\\s*"));
+    }
+
+    /**
+     * A built profile template with the launch time of a fresh profile for comparison
+     */
+    private static class Template {
+        private final Path dir;
+        private volatile boolean failed;
+        private volatile long buildNanos;
+        private volatile long freshLaunchNanos;
+
+        Template(Path dir) {
+            this.dir = dir;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.automation.driver;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts browsers on a Selenium Grid. All sessions share one HTTP client, so connections to
+ * the grid are reused instead of opened per session. Capabilities from grid.capabilities are
+ * added to every request so the grid routes it to matching nodes, and failed session starts
+ * are retried with a growing delay. While a request is pending its place in the grid's
+ * session queue is polled, to split queue wait from browser start time.
+ */
+public class RemoteDriverFactory implements DriverFactory {
+    static final String REQUEST_ID = "automation:requestId";
+    private static final Logger logger = LogManager.getLogger(RemoteDriverFactory.class);
+    private static final String QUEUE_QUERY = "{ sessionsInfo { sessionQueueRequests } }";
+
+    private static final List<HttpClient> SHARED_CLIENTS = new CopyOnWriteArrayList<>();
+    private static ScheduledExecutorService queuePoller;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> SHARED_CLIENTS.forEach(HttpClient::close), "grid-client-close"));
+    }
+
+    private final URL gridUrl;
+    private final Map<String, Object> routingCapabilities;
+    private final int retries;
+    private final long retryDelayMs;
+    private final long queuePollMs;
+    private final ClientConfig clientConfig;
+    private final HttpClient sharedClient;
+    private final HttpClient.Factory clientFactory;
+    private volatile boolean queueVisible = true;
+
+    public RemoteDriverFactory(URL gridUrl, Map<String, Object> routingCapabilities, int retries,
+                               long retryDelayMs, long queuePollMs, Duration readTimeout) {
+        this.gridUrl = gridUrl;
+        this.routingCapabilities = routingCapabilities;
+        this.retries = retries;
+        this.retryDelayMs = retryDelayMs;
+        this.queuePollMs = queuePollMs;
+        this.clientConfig = ClientConfig.defaultConfig()
+                .baseUrl(gridUrl)
+                .connectionTimeout(Duration.ofSeconds(ConfigReader.getGridConnectTimeoutSeconds()))
+                .readTimeout(readTimeout);
+        this.sharedClient = HttpClient.Factory.createDefault().createClient(clientConfig);
+        this.clientFactory = config -> new SharedClient(sharedClient);
+        SHARED_CLIENTS.add(sharedClient);
+    }
+
+    /**
+     * Create a factory for grid.url, starting an in-process grid when no URL is configured
+     */
+    public static RemoteDriverFactory fromConfig() {
+        URL url;
+        try {
+            url = ConfigReader.getGridUrl().isEmpty() ? LocalGrid.start() : new URL(ConfigReader.getGridUrl());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid grid.url: " + ConfigReader.getGridUrl(), e);
+        } catch (NoClassDefFoundError e) {
+            throw new IllegalStateException("An in-process grid needs org.seleniumhq.selenium:selenium-grid "
+                    + "on the classpath; add it or set grid.url", e);
+        }
+        logger.info("Remote driver factory targets {}", url);
+        return new RemoteDriverFactory(url, parseCapabilities(ConfigReader.getGridCapabilities()),
+                ConfigReader.getGridSessionRetries(), ConfigReader.getGridRetryDelayMs(),
+                ConfigReader.getGridQueuePollMs(), Duration.ofSeconds(ConfigReader.getGridReadTimeoutSeconds()));
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public WebDriver create(DriverConfig config) {
+        MutableCapabilities capabilities = BrowserOptions.forConfig(config);
+        routingCapabilities.forEach(capabilities::setCapability);
+        String requestId = UUID.randomUUID().toString();
+        capabilities.setCapability(REQUEST_ID, requestId);
+
+        WebDriverException lastError = null;
+        for (int attempt = 0; attempt <= retries; attempt++) {
+            if (attempt > 0) {
+                sleep(retryDelayMs * attempt);
+            }
+            long requested = System.nanoTime();
+            QueueProbe probe = new QueueProbe(requestId, requested);
+            try {
+                RemoteWebDriver driver = new RemoteWebDriver(
+                        new HttpCommandExecutor(Collections.emptyMap(), clientConfig, clientFactory), capabilities);
+                long queued = probe.stop();
+                SessionTimings.record(config.getName(), queued, System.nanoTime() - requested - queued, attempt);
+                return driver;
+            } catch (InvalidArgumentException e) {
+                probe.stop();
+                throw e;
+            } catch (WebDriverException e) {
+                probe.stop();
+                lastError = e;
+                logger.warn("Session start {}/{} on {} failed: {}", attempt + 1, retries + 1, gridUrl,
+                        e.getMessage().split("\n")[0]);
+            }
+        }
+        SessionTimings.recordFailure(retries);
+        throw new SessionNotCreatedException("No " + config + " session on " + gridUrl + " after "
+                + (retries + 1) + " attempts", lastError);
+    }
+
+    public URL getGridUrl() {
+        return gridUrl;
+    }
+
+    /**
+     * Parse routing capabilities like "platformName=linux, se:team=checkout"
+     */
+    static Map<String, Object> parseCapabilities(String value) {
+        Map<String, Object> capabilities = new LinkedHashMap<>();
+        if (value.isEmpty()) {
+            return capabilities;
+        }
+        for (String pair : value.split("\\s*,\\s*")) {
+            int idx = pair.indexOf('=');
+            if (idx <= 0) {
+                throw new IllegalArgumentException("Grid capability must look like name=value: " + pair);
+            }
+            String capabilityValue = pair.substring(idx + 1).trim();
+            capabilities.put(pair.substring(0, idx).trim(),
+                    "true".equalsIgnoreCase(capabilityValue) || "false".equalsIgnoreCase(capabilityValue)
+                            ? (Object) Boolean.parseBoolean(capabilityValue) : capabilityValue);
+        }
+        return capabilities;
+    }
+
+    private static synchronized ScheduledExecutorService getQueuePoller() {
+        if (queuePoller == null) {
+            queuePoller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "grid-queue-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return queuePoller;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting to retry session start");
+        }
+    }
+
+    /**
+     * Polls the grid's session queue for one request and remembers when it was last seen queued
+     */
+    private class QueueProbe {
+        private final String requestId;
+        private final long requested;
+        private final AtomicLong lastQueued = new AtomicLong();
+        private final ScheduledFuture<?> task;
+
+        QueueProbe(String requestId, long requested) {
+            this.requestId = requestId;
+            this.requested = requested;
+            this.task = queuePollMs > 0 && queueVisible
+                    ? getQueuePoller().scheduleWithFixedDelay(this::poll, 0, queuePollMs, TimeUnit.MILLISECONDS)
+                    : null;
+        }
+
+        /**
+         * Stop polling and return how long the request stayed in the queue
+         */
+        long stop() {
+            if (task != null) {
+                task.cancel(false);
+            }
+            long queued = lastQueued.get();
+            return queued == 0 ? 0 : queued - requested;
+        }
+
+        private void poll() {
+            if (!queueVisible) {
+                return;
+            }
+            try {
+                HttpResponse response = sharedClient.execute(new HttpRequest(HttpMethod.POST, "/graphql")
+                        .setContent(Contents.asJson(Map.of("query", QUEUE_QUERY))));
+                if (response.getStatus() != 200) {
+                    queueVisible = false;
+                    logger.info("Grid at {} does not expose its session queue (HTTP {}), queue wait not measured",
+                            gridUrl, response.getStatus());
+                } else if (Contents.string(response).contains(requestId)) {
+                    lastQueued.set(System.nanoTime());
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Session queue poll failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * View of the shared client that stays open when a session quits
+     */
+    private static class SharedClient implements HttpClient {
+        private final HttpClient delegate;
+
+        SharedClient(HttpClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return delegate.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return delegate.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // The shared client is closed on JVM shutdown
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.automation.driver;
+
+import com.automation.utils.ExtentReportManager;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long new browser sessions waited in the grid queue and how long they took to
+ * start once a slot was assigned, for the test log and the run report
+ */
+public class SessionTimings {
+    private static final Logger logger = LogManager.getLogger(SessionTimings.class);
+
+    private static final AtomicInteger sessions = new AtomicInteger();
+    private static final AtomicInteger failures = new AtomicInteger();
+    private static final AtomicInteger retries = new AtomicInteger();
+    private static final AtomicLong totalQueueNanos = new AtomicLong();
+    private static final AtomicLong maxQueueNanos = new AtomicLong();
+    private static final AtomicLong totalStartNanos = new AtomicLong();
+    private static final AtomicLong maxStartNanos = new AtomicLong();
+    private static final ThreadLocal<long[]> last = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Record a started session and log its timings to the current test
+     */
+    public static void record(String configuration, long queueNanos, long startNanos, int retryCount) {
+        sessions.incrementAndGet();
+        retries.addAndGet(retryCount);
+        totalQueueNanos.addAndGet(queueNanos);
+        maxQueueNanos.accumulateAndGet(queueNanos, Math::max);
+        totalStartNanos.addAndGet(startNanos);
+        maxStartNanos.accumulateAndGet(startNanos, Math::max);
+        last.get()[0] = queueNanos;
+        last.get()[1] = startNanos;
+
+        String message = String.format("%s session ready: queued %d ms, started in %d ms%s", configuration,
+                TimeUnit.NANOSECONDS.toMillis(queueNanos), TimeUnit.NANOSECONDS.toMillis(startNanos),
+                retryCount > 0 ? " after " + retryCount + " retries" : "");
+        logger.info(message);
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) {
+            test.log(Status.INFO, message);
+        }
+    }
+
+    /**
+     * Record a session that could not be started after all retries
+     */
+    public static void recordFailure(int retryCount) {
+        failures.incrementAndGet();
+        retries.addAndGet(retryCount);
+    }
+
+    /**
+     * Get the queue wait of the last session started on the current thread
+     */
+    public static long getLastQueueMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(last.get()[0]);
+    }
+
+    /**
+     * Get the start time, after leaving the queue, of the last session started on the current thread
+     */
+    public static long getLastStartMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(last.get()[1]);
+    }
+
+    /**
+     * Summarize queue wait versus session start time for the run report
+     */
+    public static String getSummary() {
+        int count = Math.max(1, sessions.get());
+        return String.format("%d sessions (%d failed, %d retries), queue wait avg %d ms / max %d ms, "
+                        + "session start avg %d ms / max %d ms", sessions.get(), failures.get(), retries.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalQueueNanos.get() / count),
+                TimeUnit.NANOSECONDS.toMillis(maxQueueNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(totalStartNanos.get() / count),
+                TimeUnit.NANOSECONDS.toMillis(maxStartNanos.get()));
+    }
+}
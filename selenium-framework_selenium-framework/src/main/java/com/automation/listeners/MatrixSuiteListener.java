@@ -0,0 +1,115 @@
+package com.automation.listeners;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Expands every &lt;test&gt; marked with the "matrix" parameter into one copy per combination of
+ * matrix.browsers, matrix.headless and matrix.window.sizes, and runs the copies in parallel.
+ * Each copy carries its configuration as TestNG parameters, which TestListener applies to the
+ * running thread.
+ */
+public class MatrixSuiteListener implements IAlterSuiteListener {
+    public static final String MATRIX = "matrix";
+    public static final String CONFIGURATION = "driver.config";
+    private static final Logger logger = LogManager.getLogger(MatrixSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<DriverConfig> configs = getConfigurations();
+        if (configs.isEmpty()) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            expand(suite, configs);
+        }
+    }
+
+    /**
+     * Build every browser configuration of the matrix, or none when matrix mode is off
+     */
+    public static List<DriverConfig> getConfigurations() {
+        List<String> browsers = splitList(ConfigReader.getMatrixBrowsers());
+        if (browsers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> headlessFlags = splitList(ConfigReader.getMatrixHeadless());
+        List<String> windowSizes = splitList(ConfigReader.getMatrixWindowSizes());
+        if (windowSizes.isEmpty()) {
+            windowSizes = Collections.singletonList("");
+        }
+        List<DriverConfig> configs = new ArrayList<>();
+        for (String browser : browsers) {
+            for (String headless : headlessFlags.isEmpty() ? List.of("true") : headlessFlags) {
+                for (String windowSize : windowSizes) {
+                    configs.add(new DriverConfig(browser, Boolean.parseBoolean(headless),
+                            DriverConfig.parseWindowSize(windowSize)));
+                }
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * Replace the suite's matrix tests with one copy per configuration and run tests in parallel
+     */
+    public static void expand(XmlSuite suite, List<DriverConfig> configs) {
+        List<XmlTest> tests = new ArrayList<>();
+        int expanded = 0;
+        for (XmlTest test : new ArrayList<>(suite.getTests())) {
+            if (!Boolean.parseBoolean(test.getLocalParameters().get(MATRIX))) {
+                tests.add(test);
+                continue;
+            }
+            for (DriverConfig config : configs) {
+                tests.add(copy(test, config));
+            }
+            expanded++;
+        }
+        if (expanded == 0) {
+            logger.warn("matrix.browsers is set but no <test> in suite '{}' has the matrix parameter",
+                    suite.getName());
+            return;
+        }
+        suite.setTests(tests);
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        int threads = ConfigReader.getMatrixThreadCount();
+        suite.setThreadCount(threads > 0 ? threads : Math.max(configs.size(), suite.getThreadCount()));
+        logger.info("Expanded {} tests of suite '{}' across {} configurations, {} in parallel",
+                expanded, suite.getName(), configs.size(), suite.getThreadCount());
+    }
+
+    private static XmlTest copy(XmlTest test, DriverConfig config) {
+        // clone() registers the copy with the suite; the caller rebuilds the test list
+        XmlTest copy = (XmlTest) test.clone();
+        copy.setName(test.getName() + " [" + config.getName() + "]");
+        List<XmlClass> classes = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            classes.add((XmlClass) xmlClass.clone());
+        }
+        copy.setXmlClasses(classes);
+        copy.addParameter(DriverConfig.BROWSER, config.getBrowser());
+        copy.addParameter(DriverConfig.HEADLESS, String.valueOf(config.isHeadless()));
+        if (config.getWindowSize() != null) {
+            copy.addParameter(DriverConfig.WINDOW_SIZE,
+                    config.getWindowSize().getWidth() + "x" + config.getWindowSize().getHeight());
+        }
+        copy.addParameter(CONFIGURATION, config.getName());
+        return copy;
+    }
+
+    private static List<String> splitList(String value) {
+        return value.isEmpty() ? List.of() : Arrays.asList(value.trim().split("\\s*,\\s*"));
+    }
+}
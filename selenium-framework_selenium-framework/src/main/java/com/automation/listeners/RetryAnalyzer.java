@@ -0,0 +1,26 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Retries a failed test up to retry.count times within the same run
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LogManager.getLogger(RetryAnalyzer.class);
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (attempts >= ConfigReader.getRetryCount()) {
+            return false;
+        }
+        attempts++;
+        logger.warn("Retrying {} (attempt {} of {})", result.getMethod().getQualifiedName(), attempts,
+                ConfigReader.getRetryCount());
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.automation.listeners;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Attaches the RetryAnalyzer to every test that does not declare its own
+ */
+public class RetryTransformer implements IAnnotationTransformer {
+    // The value @Test(retryAnalyzer) has when a test sets none, whatever class a TestNG release uses for it
+    private static final Object NO_ANALYZER = defaultRetryAnalyzer();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                          Method testMethod) {
+        Class<?> current = annotation.getRetryAnalyzerClass();
+        if (current == null || current.equals(NO_ANALYZER)) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    private static Object defaultRetryAnalyzer() {
+        try {
+            return Test.class.getMethod("retryAnalyzer").getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("@Test has no retryAnalyzer attribute", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.automation.listeners;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.FailureManifest;
+import com.automation.utils.FlakinessHistory;
+import com.automation.utils.TestImpactSelector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Narrows the tests of a run by run mode (all, only the previous run's failures, or only
+ * tests affected by changed files) and lane (main excludes quarantined tests, quarantine
+ * runs only them)
+ */
+public class RunModeInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(RunModeInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        List<IMethodInstance> selected = methods;
+
+        if ("failed".equalsIgnoreCase(ConfigReader.getRunMode())) {
+            if (FailureManifest.exists()) {
+                String configuration = context.getCurrentXmlTest().getParameter(MatrixSuiteListener.CONFIGURATION);
+                selected = selected.stream()
+                        .filter(m -> FailureManifest.hasFailed(m.getMethod().getQualifiedName(), configuration))
+                        .collect(Collectors.toList());
+            } else {
+                logger.warn("run.mode=failed but no failure manifest found at {}, running all tests",
+                        ConfigReader.getFailureManifestFile());
+            }
+        }
+
+        if ("impacted".equalsIgnoreCase(ConfigReader.getRunMode())) {
+            Set<String> affected = TestImpactSelector.select(selected.stream()
+                    .map(m -> m.getMethod().getQualifiedName())
+                    .collect(Collectors.toList()));
+            selected = selected.stream()
+                    .filter(m -> affected.contains(m.getMethod().getQualifiedName()))
+                    .collect(Collectors.toList());
+        }
+
+        String lane = ConfigReader.getRunLane();
+        if ("main".equalsIgnoreCase(lane)) {
+            selected = selected.stream()
+                    .filter(m -> !FlakinessHistory.isQuarantined(m.getMethod().getQualifiedName()))
+                    .collect(Collectors.toList());
+        } else if ("quarantine".equalsIgnoreCase(lane)) {
+            selected = selected.stream()
+                    .filter(m -> FlakinessHistory.isQuarantined(m.getMethod().getQualifiedName()))
+                    .collect(Collectors.toList());
+        }
+
+        if (selected.size() != methods.size()) {
+            logger.info("{}: running {} of {} tests (run.mode={}, run.lane={})", context.getName(),
+                    selected.size(), methods.size(), ConfigReader.getRunMode(), lane);
+        }
+        return selected;
+    }
+}
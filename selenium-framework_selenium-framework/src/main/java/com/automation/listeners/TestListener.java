@@ -1,78 +1,345 @@
 package com.automation.listeners;
 
 import com.automation.base.BaseTest;
+import com.automation.base.DriverConfig;
+import com.automation.data.TestDataRow;
+import com.automation.driver.ProfileTemplates;
+import com.automation.driver.SessionTimings;
+import com.automation.utils.BrowserProcessMonitor;
+import com.automation.utils.CircuitBreaker;
+import com.automation.utils.ConfigReader;
 import com.automation.utils.ExtentReportManager;
+import com.automation.utils.FailureArtifacts;
+import com.automation.utils.FailureManifest;
+import com.automation.utils.FlakinessHistory;
 import com.automation.utils.ScreenshotUtility;
+import com.automation.utils.TestImpactRecorder;
+import com.automation.utils.TestImpactSelector;
+import com.automation.utils.TestLogBuffer;
+import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
 /**
- * TestNG Listener for Extent Reports and Screenshot capture
+ * TestNG Listener for Extent Reports, Screenshot capture, per-test log buffering and
+ * failure/flakiness tracking for reruns
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
     private static final Logger logger = LogManager.getLogger(TestListener.class);
+    private static final String REPORT_ENTRY = "extent.test";
+    private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
 
     @Override
     public void onStart(ITestContext context) {
-        logger.info("Test Suite Started: " + context.getName());
+        logger.info("Test Suite Started: {}", context.getName());
         ExtentReportManager.initReports();
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        logger.info("Test Suite Finished: " + context.getName());
+        // Other <test>s may still be running in parallel; the report is flushed once in onFinish(ISuite)
+        logger.info("Test Suite Finished: {}", context.getName());
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        List<String> browsers = MatrixSuiteListener.getConfigurations().stream()
+                .map(DriverConfig::getBrowser)
+                .distinct()
+                .collect(Collectors.toList());
+        CircuitBreaker.preflight(browsers.isEmpty() ? List.of(ConfigReader.getBrowser()) : browsers);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FailureArtifacts.awaitPending();
+        FailureManifest.save();
+        FlakinessHistory.save();
+        TestImpactRecorder.save();
+        if ("impacted".equalsIgnoreCase(ConfigReader.getRunMode())) {
+            ExtentReportManager.setSystemInfo("Test Impact", TestImpactSelector.getSummary());
+            logger.info("Test impact summary: {}", TestImpactSelector.getSummary());
+        }
+        ExtentReportManager.setSystemInfo("Quarantined Tests",
+                String.valueOf(FlakinessHistory.getQuarantined().size()));
+        BrowserProcessMonitor.reapAll();
+        ExtentReportManager.setSystemInfo("Browser Processes", BrowserProcessMonitor.getSummary());
+        ExtentReportManager.setSystemInfo("Driver Sessions", SessionTimings.getSummary());
+        ExtentReportManager.setSystemInfo("Profile Templates", ProfileTemplates.getSummary());
+        ExtentReportManager.setSystemInfo("Circuit Breaker", CircuitBreaker.getSummary());
+        ExtentReportManager.setSystemInfo("Failure Artifacts", FailureArtifacts.getSummary());
         ExtentReportManager.flushReports();
+        logger.info("Browser process summary: {}", BrowserProcessMonitor.getSummary());
+        logger.info("Driver session summary: {}", SessionTimings.getSummary());
+        logger.info("Profile template summary: {}", ProfileTemplates.getSummary());
+        logger.info("Circuit breaker summary: {}", CircuitBreaker.getSummary());
+        logger.info("Failure artifact summary: {}", FailureArtifacts.getSummary());
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        DriverConfig.setCurrent(DriverConfig.fromParameters(
+                testResult.getTestContext().getCurrentXmlTest().getAllParameters()));
+        // Capture from @BeforeMethod onwards so setup logs are kept with the test
+        if (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration()) {
+            TestLogBuffer.begin();
+            TestImpactRecorder.begin();
+        }
+        if (isTestSetupStart(method, testResult)) {
+            // A session kept across tests is replaced before the next test sets up its state
+            BaseTest.recycleDriverIfUnhealthy();
+        }
+    }
+
+    /**
+     * Check if a method is the first step of a test: its @BeforeMethod, or the test itself when the
+     * class has none
+     */
+    private boolean isTestSetupStart(IInvokedMethod method, ITestResult testResult) {
+        if (method.getTestMethod().isBeforeMethodConfiguration()) {
+            return true;
+        }
+        return method.isTestMethod() && testResult.getMethod().getTestClass().getBeforeTestMethods().length == 0;
     }
 
     @Override
     public void onTestStart(ITestResult result) {
-        logger.info("Test Started: " + result.getMethod().getMethodName());
-        String description = result.getMethod().getDescription();
-        if (description == null || description.isEmpty()) {
-            description = "Test execution for " + result.getMethod().getMethodName();
+        logger.info("Test Started: {}", result.getMethod().getMethodName());
+        createReportEntry(result);
+        TestDataRow row = getDataRow(result);
+        if (row != null) {
+            TestImpactRecorder.recordData(row.getSource());
         }
-        ExtentReportManager.createTest(result.getMethod().getMethodName(), description);
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        logger.info("Test Passed: " + result.getMethod().getMethodName());
-        ExtentReportManager.getTest().log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
+        logger.info("Test Passed: {}", result.getMethod().getMethodName());
+        try {
+            ExtentTest test = getReportEntry(result);
+            test.log(Status.PASS, "Test Passed: " + result.getMethod().getMethodName());
+            TestLogBuffer.discard();
+            endImpactRecording(result);
+            boolean flaky = failedAttempts.remove(getInvocationId(result)) != null;
+            if (flaky) {
+                test.log(Status.WARNING, "Passed on retry, recorded as flaky");
+            }
+            FlakinessHistory.recordOutcome(result.getMethod().getQualifiedName(),
+                    flaky ? FlakinessHistory.Outcome.FLAKY : FlakinessHistory.Outcome.PASS);
+        } finally {
+            ExtentReportManager.removeTest();
+        }
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        logger.error("Test Failed: " + result.getMethod().getMethodName());
-        ExtentReportManager.getTest().log(Status.FAIL, "Test Failed: " + result.getMethod().getMethodName());
-        ExtentReportManager.getTest().log(Status.FAIL, result.getThrowable());
-
-        // Capture screenshot on failure
+        logger.error("Test Failed: {}", result.getMethod().getMethodName());
         try {
-            String screenshotBase64 = ScreenshotUtility.captureScreenshotAsBase64(BaseTest.getDriver());
-            if (screenshotBase64 != null) {
-                ExtentReportManager.getTest().addScreenCaptureFromBase64String(screenshotBase64, 
-                    "Failure Screenshot");
+            ExtentTest test = getReportEntry(result);
+            test.log(Status.FAIL, "Test Failed: " + result.getMethod().getMethodName());
+            test.log(Status.FAIL, result.getThrowable());
+
+            // Capture screenshot on failure
+            try {
+                String screenshotBase64 = ScreenshotUtility.captureScreenshotAsBase64(BaseTest.getDriver());
+                if (screenshotBase64 != null) {
+                    test.addScreenCaptureFromBase64String(screenshotBase64, "Failure Screenshot");
+                }
+            } catch (Exception e) {
+                logger.error("Failed to capture screenshot: {}", e.getMessage());
             }
-        } catch (Exception e) {
-            logger.error("Failed to capture screenshot: " + e.getMessage());
+            attachFailureArtifacts(result);
+            attachBufferedLogs(result, Status.FAIL);
+            TestImpactRecorder.discard();
+            failedAttempts.remove(getInvocationId(result));
+            FlakinessHistory.recordOutcome(result.getMethod().getQualifiedName(), FlakinessHistory.Outcome.FAIL);
+            recordFailure(result);
+        } finally {
+            ExtentReportManager.removeTest();
         }
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        logger.warn("Test Skipped: " + result.getMethod().getMethodName());
-        ExtentReportManager.getTest().log(Status.SKIP, "Test Skipped: " + result.getMethod().getMethodName());
-        if (result.getThrowable() != null) {
-            ExtentReportManager.getTest().log(Status.SKIP, result.getThrowable());
+        logger.warn("Test Skipped: {}", result.getMethod().getMethodName());
+        try {
+            ExtentTest test = getReportEntry(result);
+            TestImpactRecorder.discard();
+            test.log(Status.SKIP, "Test Skipped: " + result.getMethod().getMethodName());
+            if (result.wasRetried()) {
+                failedAttempts.merge(getInvocationId(result), 1, Integer::sum);
+                test.log(Status.WARNING, "Attempt failed, retrying");
+            }
+            if (result.getThrowable() != null) {
+                // e.g. "Circuit for www.example.com is open: ..." when the circuit breaker skipped setup
+                test.log(Status.SKIP, result.getThrowable());
+                attachBufferedLogs(result, Status.SKIP);
+                if (!result.wasRetried()) {
+                    // Skipped because setup failed; rerun it together with the failures
+                    recordFailure(result);
+                }
+            } else {
+                TestLogBuffer.discard();
+            }
+        } finally {
+            ExtentReportManager.removeTest();
+        }
+    }
+
+    /**
+     * Create the report entry of a test and make it the current entry of this thread
+     */
+    private ExtentTest createReportEntry(ITestResult result) {
+        String description = result.getMethod().getDescription();
+        if (description == null || description.isEmpty()) {
+            description = "Test execution for " + result.getMethod().getMethodName();
         }
+        ExtentReportManager.createTest(getTestName(result), description);
+        ExtentTest test = ExtentReportManager.getTest();
+        result.setAttribute(REPORT_ENTRY, test);
+        String configuration = getConfiguration(result);
+        if (configuration != null) {
+            test.assignDevice(configuration);
+        }
+        TestDataRow row = getDataRow(result);
+        if (row != null) {
+            test.assignCategory(row.getSource()).log(Status.INFO, "Data row " + row.getId() + ": " + row.getValues());
+        }
+        return test;
+    }
+
+    /**
+     * Get the report entry of a test, creating it when onTestStart was not called for this result,
+     * so a skip reason is never logged against another test
+     */
+    private ExtentTest getReportEntry(ITestResult result) {
+        Object test = result.getAttribute(REPORT_ENTRY);
+        if (!(test instanceof ExtentTest)) {
+            return createReportEntry(result);
+        }
+        ExtentReportManager.setTest((ExtentTest) test);
+        return (ExtentTest) test;
     }
 
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
-        logger.warn("Test Failed but within success percentage: " + result.getMethod().getMethodName());
+        logger.warn("Test Failed but within success percentage: {}", result.getMethod().getMethodName());
+    }
+
+    /**
+     * Store the page objects the test touched, with its duration, in the impact map
+     */
+    private void endImpactRecording(ITestResult result) {
+        TestImpactRecorder.end(result.getMethod().getQualifiedName(),
+                Math.max(0, result.getEndMillis() - result.getStartMillis()));
+    }
+
+    /**
+     * Add a failed test and its data row to the failure manifest
+     */
+    private void recordFailure(ITestResult result) {
+        TestDataRow row = getDataRow(result);
+        FailureManifest.recordFailure(FailureManifest.testKey(result.getMethod().getQualifiedName(),
+                getConfiguration(result)), row == null ? null : row.getSource(), row == null ? null : row.getId());
+    }
+
+    /**
+     * Identify a single invocation of a test, so retries of a data row or matrix configuration are matched up
+     */
+    private String getInvocationId(ITestResult result) {
+        TestDataRow row = getDataRow(result);
+        String configuration = getConfiguration(result);
+        return result.getMethod().getQualifiedName() + (row == null ? "" : "[" + row.getId() + "]")
+                + (configuration == null ? "" : "@" + configuration);
+    }
+
+    /**
+     * Get the matrix configuration a test runs with, or null outside matrix mode
+     */
+    private String getConfiguration(ITestResult result) {
+        return result.getTestContext().getCurrentXmlTest().getParameter(MatrixSuiteListener.CONFIGURATION);
+    }
+
+    private TestDataRow getDataRow(ITestResult result) {
+        for (Object parameter : result.getParameters()) {
+            if (parameter instanceof TestDataRow) {
+                return (TestDataRow) parameter;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the report name of a test, with the IDs of any data rows and the matrix configuration
+     * it was invoked with
+     */
+    private String getTestName(ITestResult result) {
+        StringBuilder name = new StringBuilder(result.getMethod().getMethodName());
+        for (Object parameter : result.getParameters()) {
+            if (parameter instanceof TestDataRow) {
+                name.append(" [").append(((TestDataRow) parameter).getId()).append(']');
+            }
+        }
+        String configuration = getConfiguration(result);
+        if (configuration != null) {
+            name.append(" @").append(configuration);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Bundle the page state of a failed test and link the bundle from its report entry
+     */
+    private void attachFailureArtifacts(ITestResult result) {
+        try {
+            Path bundle = FailureArtifacts.capture(BaseTest.getDriver(),
+                    result.getTestClass().getRealClass().getSimpleName() + "." + getTestName(result),
+                    result.getThrowable());
+            if (bundle != null) {
+                ExtentReportManager.getTest().log(Status.INFO, "Failure artifacts: <a href='"
+                        + FailureArtifacts.getReportLink(bundle) + "'>" + bundle.getFileName() + "</a>");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to capture failure artifacts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Attach the test's buffered log to its report entry and optionally to a per-test file
+     */
+    private void attachBufferedLogs(ITestResult result, Status status) {
+        String logs = TestLogBuffer.drain();
+        if (logs.isEmpty()) {
+            return;
+        }
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) {
+            test.log(status, MarkupHelper.createCodeBlock(logs.replace("&", "&amp;").replace("<", "&lt;")));
+        }
+        if (ConfigReader.isLogBufferFileEnabled()) {
+            try {
+                Path file = TestLogBuffer.writeToFile(
+                        result.getTestClass().getRealClass().getSimpleName() + "." + getTestName(result), logs);
+                logger.info("Test log written to {}", file);
+            } catch (IOException e) {
+                logger.error("Failed to write test log file: {}", e.getMessage());
+            }
+        }
     }
 }
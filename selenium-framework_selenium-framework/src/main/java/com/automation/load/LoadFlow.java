@@ -0,0 +1,15 @@
+package com.automation.load;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A page-object flow replayed by each virtual user of a load run
+ */
+@FunctionalInterface
+public interface LoadFlow {
+
+    /**
+     * Run one iteration of the flow, timing each step through the recorder
+     */
+    void run(WebDriver driver, StepRecorder steps) throws Exception;
+}
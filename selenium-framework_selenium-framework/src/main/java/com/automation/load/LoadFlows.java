@@ -0,0 +1,41 @@
+package com.automation.load;
+
+import com.automation.pages.FacebookLoginPage;
+import com.automation.utils.ConfigReader;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registry of named page-object flows available to the load runner
+ */
+public class LoadFlows {
+    private static final Map<String, LoadFlow> flows = new TreeMap<>();
+
+    static {
+        register("facebook-login", (driver, steps) -> {
+            steps.step("open login page", () -> driver.get(ConfigReader.getLoadTargetUrl()));
+            FacebookLoginPage loginPage = steps.step("init page object", () -> new FacebookLoginPage(driver));
+            steps.step("login", () -> loginPage.login(ConfigReader.getProperty("valid.email"),
+                    ConfigReader.getProperty("valid.password")));
+        });
+    }
+
+    /**
+     * Register a flow under a name
+     */
+    public static void register(String name, LoadFlow flow) {
+        flows.put(name, flow);
+    }
+
+    /**
+     * Get a flow by name
+     */
+    public static LoadFlow get(String name) {
+        LoadFlow flow = flows.get(name);
+        if (flow == null) {
+            throw new IllegalArgumentException("Unknown load flow: " + name + " (available: " + flows.keySet() + ")");
+        }
+        return flow;
+    }
+}
@@ -0,0 +1,108 @@
+package com.automation.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe latency and error counters for the steps of a load run
+ */
+public class LoadMetrics {
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+    private final List<String> stepOrder = new ArrayList<>();
+
+    /**
+     * Record a successful step execution
+     */
+    public void recordSuccess(String step, long nanos) {
+        stats(step).record(nanos, false);
+    }
+
+    /**
+     * Record a failed step execution
+     */
+    public void recordError(String step, long nanos) {
+        stats(step).record(nanos, true);
+    }
+
+    /**
+     * Get statistics per step, in the order steps were first seen
+     */
+    public Map<String, StepStats> getSteps() {
+        Map<String, StepStats> ordered = new LinkedHashMap<>();
+        synchronized (stepOrder) {
+            for (String step : stepOrder) {
+                ordered.put(step, steps.get(step));
+            }
+        }
+        return ordered;
+    }
+
+    private StepStats stats(String step) {
+        StepStats stats = steps.get(step);
+        if (stats == null) {
+            synchronized (stepOrder) {
+                stats = steps.computeIfAbsent(step, name -> {
+                    stepOrder.add(name);
+                    return new StepStats();
+                });
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Latency samples and error count of a single step
+     */
+    public static class StepStats {
+        private long[] samples = new long[256];
+        private int count;
+        private int errors;
+
+        synchronized void record(long nanos, boolean error) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        public synchronized int getCount() {
+            return count;
+        }
+
+        public synchronized int getErrors() {
+            return errors;
+        }
+
+        public synchronized double getErrorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        public synchronized double getMeanMillis() {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += samples[i];
+            }
+            return count == 0 ? 0 : total / (count * 1_000_000.0);
+        }
+
+        /**
+         * Get a latency percentile (0-100) in milliseconds using the nearest-rank method
+         */
+        public synchronized double getPercentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.automation.load;
+
+import com.automation.utils.JsonUtility;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a load run with per-step latency percentiles, error rates and throughput
+ */
+public class LoadResult {
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    private final String flowName;
+    private final int sessions;
+    private final long startedAt;
+    private final long elapsedMillis;
+    private final LoadMetrics metrics;
+
+    public LoadResult(String flowName, int sessions, long startedAt, long elapsedMillis, LoadMetrics metrics) {
+        this.flowName = flowName;
+        this.sessions = sessions;
+        this.startedAt = startedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.metrics = metrics;
+    }
+
+    public String getFlowName() {
+        return flowName;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Map<String, LoadMetrics.StepStats> getSteps() {
+        return metrics.getSteps();
+    }
+
+    /**
+     * Get completed executions per second for a step
+     */
+    public double getThroughput(String step) {
+        LoadMetrics.StepStats stats = metrics.getSteps().get(step);
+        return stats == null || elapsedMillis == 0 ? 0 : stats.getCount() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Convert to a map for JSON serialization
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("flow", flowName);
+        map.put("sessions", sessions);
+        map.put("startedAt", startedAt);
+        map.put("elapsedMillis", elapsedMillis);
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (Map.Entry<String, LoadMetrics.StepStats> entry : metrics.getSteps().entrySet()) {
+            LoadMetrics.StepStats stats = entry.getValue();
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("name", entry.getKey());
+            step.put("count", stats.getCount());
+            step.put("errors", stats.getErrors());
+            step.put("errorRate", stats.getErrorRate());
+            step.put("throughputPerSecond", getThroughput(entry.getKey()));
+            step.put("meanMillis", stats.getMeanMillis());
+            for (double percentile : PERCENTILES) {
+                step.put("p" + (int) percentile + "Millis", stats.getPercentileMillis(percentile));
+            }
+            steps.add(step);
+        }
+        map.put("steps", steps);
+        return map;
+    }
+
+    /**
+     * Export the result as JSON
+     */
+    public void writeJson(Path file) throws IOException {
+        JsonUtility.write(file, toMap());
+    }
+
+    /**
+     * Export the result as a standalone HTML table
+     */
+    public void writeHtml(Path file) throws IOException {
+        StringBuilder html = new StringBuilder();
+        html.append("<html><head><title>Load Report - ").append(flowName).append("</title>")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}")
+                .append("td:first-child{text-align:left}</style></head><body>")
+                .append("<h2>Load Report: ").append(flowName).append("</h2>")
+                .append(String.format("<p>%d sessions, %.1f s elapsed</p>", sessions, elapsedMillis / 1000.0))
+                .append("<table><tr><th>Step</th><th>Count</th><th>Errors</th><th>Error rate</th>")
+                .append("<th>Throughput/s</th><th>Mean ms</th>");
+        for (double percentile : PERCENTILES) {
+            html.append("<th>p").append((int) percentile).append(" ms</th>");
+        }
+        html.append("</tr>");
+        for (Map.Entry<String, LoadMetrics.StepStats> entry : metrics.getSteps().entrySet()) {
+            LoadMetrics.StepStats stats = entry.getValue();
+            html.append("<tr><td>").append(entry.getKey()).append("</td>")
+                    .append("<td>").append(stats.getCount()).append("</td>")
+                    .append("<td>").append(stats.getErrors()).append("</td>")
+                    .append(String.format("<td>%.2f%%</td>", stats.getErrorRate() * 100))
+                    .append(String.format("<td>%.2f</td>", getThroughput(entry.getKey())))
+                    .append(String.format("<td>%.1f</td>", stats.getMeanMillis()));
+            for (double percentile : PERCENTILES) {
+                html.append(String.format("<td>%.1f</td>", stats.getPercentileMillis(percentile)));
+            }
+            html.append("</tr>");
+        }
+        html.append("</table></body></html>");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.automation.load;
+
+import com.automation.base.BaseTest;
+import com.automation.utils.BrowserProcessMonitor;
+import com.automation.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synthetic load runner that replays a page-object flow across concurrent headless sessions.
+ * Sessions are ramped up linearly and each repeats the flow until the run duration ends.
+ */
+public class LoadRunner {
+    private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+
+    private final String flowName;
+    private final LoadFlow flow;
+    private final int users;
+    private final int rampUpSeconds;
+    private final int durationSeconds;
+
+    public LoadRunner(String flowName, LoadFlow flow, int users, int rampUpSeconds, int durationSeconds) {
+        this.flowName = flowName;
+        this.flow = flow;
+        this.users = users;
+        this.rampUpSeconds = rampUpSeconds;
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Run the flow and collect per-step metrics
+     */
+    public LoadResult run() throws InterruptedException {
+        int cap = Math.max(1, (int) (Runtime.getRuntime().availableProcessors() * ConfigReader.getLoadBrowsersPerCore()));
+        int sessions = Math.min(users, cap);
+        if (sessions < users) {
+            logger.warn("Requested {} sessions, capped to {} by load.browsers.per.core", users, sessions);
+        }
+
+        LoadMetrics metrics = new LoadMetrics();
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(rampUpSeconds + durationSeconds);
+        logger.info("Starting load run '{}' with {} sessions, {}s ramp-up, {}s steady state",
+                flowName, sessions, rampUpSeconds, durationSeconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(sessions);
+        for (int i = 0; i < sessions; i++) {
+            long startDelay = TimeUnit.SECONDS.toMillis(rampUpSeconds) * i / sessions;
+            pool.submit(() -> runSession(startDelay, deadline, metrics));
+        }
+        pool.shutdown();
+        pool.awaitTermination(rampUpSeconds + durationSeconds + ConfigReader.getPageLoadTimeout() * 2L,
+                TimeUnit.SECONDS);
+        pool.shutdownNow();
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LoadResult result = new LoadResult(flowName, sessions, startedAt, elapsed, metrics);
+        logger.info("Load run '{}' finished in {} ms", flowName, elapsed);
+        return result;
+    }
+
+    private void runSession(long startDelay, long deadline, LoadMetrics metrics) {
+        StepRecorder steps = new StepRecorder(metrics);
+        WebDriver driver = null;
+        try {
+            Thread.sleep(startDelay);
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                if (driver == null) {
+                    long sessionStart = System.nanoTime();
+                    try {
+                        driver = steps.step("start session",
+                                () -> BaseTest.createDriver(ConfigReader.getBrowser(), true));
+                    } catch (RuntimeException e) {
+                        // The user never got a browser, so none of its iterations ran
+                        metrics.recordError("iteration", System.nanoTime() - sessionStart);
+                        logger.error("Session failed to start: {}", e.getMessage());
+                        return;
+                    }
+                }
+                long iterationStart = System.nanoTime();
+                try {
+                    flow.run(driver, steps);
+                    metrics.recordSuccess("iteration", System.nanoTime() - iterationStart);
+                    if (BrowserProcessMonitor.needsRecycle(driver)) {
+                        WebDriver unhealthy = driver;
+                        steps.step("recycle session", () -> BaseTest.closeDriver(unhealthy));
+                        BrowserProcessMonitor.recordRecycled();
+                        driver = null;
+                    }
+                } catch (WebDriverException e) {
+                    metrics.recordError("iteration", System.nanoTime() - iterationStart);
+                    logger.warn("Iteration failed, restarting session: {}", e.getMessage());
+                    quietQuit(driver);
+                    driver = null;
+                } catch (Exception | AssertionError e) {
+                    // AssertionError: a page assertion in the flow failed, e.g. an exceeded performance budget
+                    metrics.recordError("iteration", System.nanoTime() - iterationStart);
+                    logger.warn("Iteration failed: {}", e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            quietQuit(driver);
+        }
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        if (driver != null) {
+            try {
+                BaseTest.closeDriver(driver);
+            } catch (Exception e) {
+                logger.debug("Ignoring error while quitting session: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run a load test configured through config.properties or -D system properties
+     */
+    public static void main(String[] args) throws Exception {
+        String flowName = ConfigReader.getProperty("load.flow", "facebook-login");
+        LoadRunner runner = new LoadRunner(flowName, LoadFlows.get(flowName),
+                ConfigReader.getLoadUsers(), ConfigReader.getLoadRampUpSeconds(),
+                ConfigReader.getLoadDurationSeconds());
+        LoadResult result = runner.run();
+
+        Path outputDir = Paths.get(ConfigReader.getLoadReportDir());
+        String baseName = flowName + "_" + result.toMap().get("startedAt");
+        result.writeJson(outputDir.resolve(baseName + ".json"));
+        result.writeHtml(outputDir.resolve(baseName + ".html"));
+        logger.info("Load report written to {}", outputDir.resolve(baseName + ".html"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.automation.load;
+
+import java.util.function.Supplier;
+
+/**
+ * Times named steps of a load flow and records their latency and outcome
+ */
+public class StepRecorder {
+    private final LoadMetrics metrics;
+
+    public StepRecorder(LoadMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Run and time a step
+     */
+    public void step(String name, Runnable action) {
+        step(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run and time a step that returns a value
+     */
+    public <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            metrics.recordSuccess(name, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException | AssertionError e) {
+            metrics.recordError(name, System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
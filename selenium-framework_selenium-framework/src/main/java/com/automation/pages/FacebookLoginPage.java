@@ -1,6 +1,7 @@
 package com.automation.pages;
 
 import com.automation.base.BasePage;
+import com.automation.base.VisualIgnore;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -26,9 +27,11 @@ public class FacebookLoginPage extends BasePage {
     @FindBy(xpath = "//a[@data-testid='open-registration-form-button']")
     private WebElement createNewAccountButton;
 
+    @VisualIgnore
     @FindBy(className = "_9ay7")
     private WebElement errorMessage;
 
+    @VisualIgnore
     @FindBy(xpath = "//div[contains(@class, 'error')]")
     private WebElement loginErrorMessage;
 
@@ -67,7 +70,7 @@ public class FacebookLoginPage extends BasePage {
      * Perform login operation
      */
     public void login(String email, String password) {
-        logger.info("Attempting to login with email: " + email);
+        logger.info("Attempting to login with email: {}", email);
         enterEmail(email);
         enterPassword(password);
         clickLoginButton();
@@ -0,0 +1,326 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tracks the process tree (driver service plus browser) behind each WebDriver session,
+ * samples its memory, CPU and handle usage, flags sessions that cross configured thresholds
+ * for recycling and reaps processes left behind by sessions that were never quit.
+ * RSS and handle counts are read from /proc and are only available on Linux.
+ */
+public class BrowserProcessMonitor {
+    private static final Logger logger = LogManager.getLogger(BrowserProcessMonitor.class);
+    private static final Path PROC = Paths.get("/proc");
+    private static final List<String> DRIVER_PROCESS_NAMES =
+            List.of("chromedriver", "geckodriver", "msedgedriver");
+
+    private static final Map<WebDriver, ProcessTree> sessions = new ConcurrentHashMap<>();
+    private static final AtomicInteger trackedCount = new AtomicInteger();
+    private static final AtomicInteger recycledCount = new AtomicInteger();
+    private static final AtomicInteger reapedCount = new AtomicInteger();
+    private static volatile long peakRssKb;
+    private static ScheduledExecutorService sampler;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserProcessMonitor::reapAll, "browser-reaper"));
+    }
+
+    /**
+     * Start tracking the process tree behind a newly created driver
+     */
+    public static void track(WebDriver driver) {
+        if (!ConfigReader.isBrowserMonitorEnabled()) {
+            return;
+        }
+        Optional<ProcessHandle> root = findRootProcess(driver);
+        if (!root.isPresent()) {
+            logger.debug("Could not identify browser process for {}", driver.getClass().getSimpleName());
+            return;
+        }
+        sessions.put(driver, new ProcessTree(root.get()));
+        trackedCount.incrementAndGet();
+        logger.debug("Tracking browser process tree rooted at pid {}", root.get().pid());
+        startSampler();
+    }
+
+    /**
+     * Stop tracking a driver after quit, killing any of its processes that are still alive
+     */
+    public static ProcessStats release(WebDriver driver) {
+        ProcessTree tree = sessions.remove(driver);
+        if (tree == null) {
+            return null;
+        }
+        ProcessStats peak = tree.peak;
+        if (destroy(tree.root) > 0) {
+            reapedCount.incrementAndGet();
+            logger.warn("Killed leftover processes of session rooted at pid {}", tree.root.pid());
+        }
+        return peak;
+    }
+
+    /**
+     * Check if a session crossed a resource threshold and should be recycled
+     */
+    public static boolean needsRecycle(WebDriver driver) {
+        ProcessTree tree = sessions.get(driver);
+        if (tree == null) {
+            return false;
+        }
+        String reason = thresholdViolation(tree.sample());
+        if (reason != null) {
+            logger.warn("Browser session should be recycled: {}", reason);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Count a session that was replaced because it crossed a resource threshold
+     */
+    public static void recordRecycled() {
+        recycledCount.incrementAndGet();
+    }
+
+    /**
+     * Sample current resource usage of a tracked session
+     */
+    public static ProcessStats sample(WebDriver driver) {
+        ProcessTree tree = sessions.get(driver);
+        return tree == null ? null : tree.sample();
+    }
+
+    /**
+     * Kill all tracked sessions and any driver service processes still owned by this JVM
+     */
+    public static void reapAll() {
+        for (WebDriver driver : new ArrayList<>(sessions.keySet())) {
+            ProcessTree tree = sessions.remove(driver);
+            if (tree != null && destroy(tree.root) > 0) {
+                reapedCount.incrementAndGet();
+            }
+        }
+        List<ProcessHandle> orphans = ProcessHandle.current().children()
+                .filter(p -> p.info().command().map(BrowserProcessMonitor::isDriverCommand).orElse(false))
+                .collect(Collectors.toList());
+        for (ProcessHandle orphan : orphans) {
+            if (destroy(orphan) > 0) {
+                reapedCount.incrementAndGet();
+            }
+        }
+        if (reapedCount.get() > 0) {
+            logger.warn("Reaped {} orphaned browser process trees", reapedCount.get());
+        }
+    }
+
+    /**
+     * Get a summary of monitored sessions for the run report
+     */
+    public static String getSummary() {
+        return String.format("%d sessions tracked, %d recycled, %d orphaned trees reaped, peak RSS %d MB",
+                trackedCount.get(), recycledCount.get(), reapedCount.get(), peakRssKb / 1024);
+    }
+
+    private static String thresholdViolation(ProcessStats stats) {
+        if (stats.rssKb / 1024 > ConfigReader.getBrowserMaxRssMb()) {
+            return "RSS " + stats.rssKb / 1024 + " MB exceeds " + ConfigReader.getBrowserMaxRssMb() + " MB";
+        }
+        if (stats.cpuMillis / 1000 > ConfigReader.getBrowserMaxCpuSeconds()) {
+            return "CPU time " + stats.cpuMillis / 1000 + " s exceeds " + ConfigReader.getBrowserMaxCpuSeconds() + " s";
+        }
+        if (stats.handles > ConfigReader.getBrowserMaxHandles()) {
+            return stats.handles + " open handles exceed " + ConfigReader.getBrowserMaxHandles();
+        }
+        return null;
+    }
+
+    private static synchronized void startSampler() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "browser-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = ConfigReader.getBrowserMonitorIntervalSeconds();
+        sampler.scheduleAtFixedRate(() -> sessions.values().forEach(ProcessTree::sample),
+                interval, interval, TimeUnit.SECONDS);
+    }
+
+    private static Optional<ProcessHandle> findRootProcess(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return Optional.empty();
+        }
+        Capabilities caps = ((HasCapabilities) driver).getCapabilities();
+
+        // Firefox reports its pid; Chromium browsers report their unique user data directory
+        Object firefoxPid = caps.getCapability("moz:processID");
+        Optional<ProcessHandle> browser = Optional.empty();
+        if (firefoxPid instanceof Number) {
+            // Only accept a pid of our own process tree, never an unrelated process with the same number
+            long pid = ((Number) firefoxPid).longValue();
+            browser = ProcessHandle.current().descendants().filter(p -> p.pid() == pid).findFirst();
+        } else {
+            String userDataDir = findUserDataDir(caps);
+            if (userDataDir != null) {
+                browser = ProcessHandle.current().descendants()
+                        .filter(p -> p.info().arguments()
+                                .map(args -> Stream.of(args).anyMatch(a -> a.equals("--user-data-dir=" + userDataDir)))
+                                .orElse(false))
+                        .findFirst();
+            }
+        }
+
+        // The driver service process is the parent of the browser and a child of this JVM
+        return browser.map(p -> p.parent()
+                .filter(parent -> parent.parent().map(ProcessHandle.current()::equals).orElse(false))
+                .orElse(p));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String findUserDataDir(Capabilities caps) {
+        for (String key : new String[]{"chrome", "msedge"}) {
+            Object value = caps.getCapability(key);
+            if (value instanceof Map && ((Map<String, Object>) value).get("userDataDir") != null) {
+                return String.valueOf(((Map<String, Object>) value).get("userDataDir"));
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDriverCommand(String command) {
+        String name = Paths.get(command).getFileName().toString().toLowerCase().replace(".exe", "");
+        return DRIVER_PROCESS_NAMES.contains(name);
+    }
+
+    private static int destroy(ProcessHandle root) {
+        List<ProcessHandle> alive = Stream.concat(root.descendants(), Stream.of(root))
+                .filter(ProcessHandle::isAlive)
+                .collect(Collectors.toList());
+        alive.forEach(ProcessHandle::destroy);
+        for (ProcessHandle process : alive) {
+            try {
+                process.onExit().get(2, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                process.destroyForcibly();
+            }
+        }
+        return alive.size();
+    }
+
+    private static long readRssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(pid + "/status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Process exited or /proc is not available on this platform
+        }
+        return 0;
+    }
+
+    private static int countHandles(long pid) {
+        try (Stream<Path> fds = Files.list(PROC.resolve(pid + "/fd"))) {
+            return (int) fds.count();
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Process tree of a single session with the peak usage observed so far
+     */
+    private static class ProcessTree {
+        private final ProcessHandle root;
+        private volatile ProcessStats peak = new ProcessStats(0, 0, 0, 0);
+
+        ProcessTree(ProcessHandle root) {
+            this.root = root;
+        }
+
+        ProcessStats sample() {
+            long rss = 0;
+            long cpu = 0;
+            int handles = 0;
+            int count = 0;
+            for (ProcessHandle process : Stream.concat(Stream.of(root), root.descendants())
+                    .collect(Collectors.toList())) {
+                rss += readRssKb(process.pid());
+                cpu += process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+                handles += countHandles(process.pid());
+                count++;
+            }
+            ProcessStats current = new ProcessStats(rss, cpu, handles, count);
+            peak = new ProcessStats(Math.max(rss, peak.rssKb), Math.max(cpu, peak.cpuMillis),
+                    Math.max(handles, peak.handles), Math.max(count, peak.processes));
+            if (rss > peakRssKb) {
+                peakRssKb = rss;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Resource usage summed over a session's process tree
+     */
+    public static class ProcessStats {
+        private final long rssKb;
+        private final long cpuMillis;
+        private final int handles;
+        private final int processes;
+
+        public ProcessStats(long rssKb, long cpuMillis, int handles, int processes) {
+            this.rssKb = rssKb;
+            this.cpuMillis = cpuMillis;
+            this.handles = handles;
+            this.processes = processes;
+        }
+
+        public long getRssKb() {
+            return rssKb;
+        }
+
+        public long getCpuMillis() {
+            return cpuMillis;
+        }
+
+        public int getHandles() {
+            return handles;
+        }
+
+        public int getProcesses() {
+            return processes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d processes, RSS %d MB, CPU %.1f s, %d handles",
+                    processes, rssKb / 1024, cpuMillis / 1000.0, handles);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Stops a run from waiting out timeouts against a broken environment. Each browser and each
+ * target host has a circuit that opens after circuit.breaker.failure.threshold consecutive
+ * infrastructure failures (session creation errors, timeouts, DNS and connection errors) or a
+ * failed preflight health check. While a circuit is open, tests needing it are skipped with the
+ * reason; every circuit.breaker.probe.interval.seconds one caller is let through as a probe
+ * (after an HTTP check where one is available) and its outcome closes or reopens the circuit.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+    private static final Pattern INFRASTRUCTURE_ERRORS = Pattern.compile(
+            "net::ERR_(NAME_NOT_RESOLVED|CONNECTION_\\w+|INTERNET_DISCONNECTED|ADDRESS_UNREACHABLE|TIMED_OUT)"
+                    + "|NS_ERROR_(UNKNOWN_HOST|CONNECTION_REFUSED|NET_TIMEOUT)"
+                    + "|Timed out receiving message from renderer");
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Map<String, Circuit> circuits = new TreeMap<>();
+    private static final AtomicInteger skippedCount = new AtomicInteger();
+    private static int openedCount;
+
+    /**
+     * Check the application and, for remote runs, the grid before the first test; an unhealthy
+     * target has its circuit opened straight away
+     */
+    public static void preflight(Collection<String> browsers) {
+        if (!ConfigReader.isCircuitBreakerEnabled() || !ConfigReader.isHealthCheckEnabled()) {
+            return;
+        }
+        String appUrl = ConfigReader.getAppUrl();
+        String appTarget = urlTarget(appUrl);
+        if (appTarget != null) {
+            String problem = probe(appUrl);
+            if (problem != null) {
+                open(appTarget, "health check of " + appUrl + " failed: " + problem);
+            } else {
+                logger.info("Health check of {} passed", appUrl);
+            }
+        }
+        String gridStatus = gridStatusUrl();
+        if (gridStatus != null) {
+            String problem = probe(gridStatus);
+            for (String browser : browsers) {
+                if (problem != null) {
+                    open(browserTarget(browser), "health check of " + gridStatus + " failed: " + problem);
+                }
+            }
+            if (problem == null) {
+                logger.info("Health check of {} passed", gridStatus);
+            }
+        }
+    }
+
+    /**
+     * Skip the current test if the browser's circuit is open
+     */
+    public static void checkBrowser(String browser) {
+        check(browserTarget(browser), gridStatusUrl());
+    }
+
+    /**
+     * Record the outcome of starting a browser; a null error is a success
+     */
+    public static void recordBrowser(String browser, Throwable error) {
+        record(browserTarget(browser), error);
+    }
+
+    /**
+     * Skip the current test if the circuit of the URL's host is open
+     */
+    public static void checkUrl(String url) {
+        String target = urlTarget(url);
+        if (target != null) {
+            check(target, url);
+        }
+    }
+
+    /**
+     * Record the outcome of loading a URL; a null error is a success
+     */
+    public static void recordUrl(String url, Throwable error) {
+        String target = urlTarget(url);
+        if (target != null) {
+            record(target, error);
+        }
+    }
+
+    /**
+     * Check if an error means the environment is unavailable rather than the test failing
+     */
+    public static boolean isInfrastructureFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SessionNotCreatedException || cause instanceof UnreachableBrowserException
+                    || cause instanceof TimeoutException || cause instanceof UnknownHostException
+                    || cause instanceof ConnectException || cause instanceof NoRouteToHostException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+            if (cause.getMessage() != null && INFRASTRUCTURE_ERRORS.matcher(cause.getMessage()).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get a summary of opened circuits and skipped tests for the report
+     */
+    public static synchronized String getSummary() {
+        String open = circuits.values().stream()
+                .filter(circuit -> circuit.state != State.CLOSED)
+                .map(circuit -> circuit.target + " (" + circuit.reason + ")")
+                .collect(Collectors.joining("; "));
+        if (openedCount == 0) {
+            return "all circuits closed";
+        }
+        return String.format("%d circuits opened, %d tests skipped%s", openedCount, skippedCount.get(),
+                open.isEmpty() ? ", all closed again" : ", still open: " + open);
+    }
+
+    /**
+     * Close all circuits and reset the counters
+     */
+    public static synchronized void reset() {
+        circuits.clear();
+        skippedCount.set(0);
+        openedCount = 0;
+    }
+
+    private static void check(String target, String probeUrl) {
+        if (!ConfigReader.isCircuitBreakerEnabled()) {
+            return;
+        }
+        Circuit circuit;
+        synchronized (CircuitBreaker.class) {
+            circuit = circuits.get(target);
+            if (circuit == null || circuit.state == State.CLOSED) {
+                return;
+            }
+            if (System.currentTimeMillis() - circuit.since < getProbeIntervalMillis()) {
+                skip(circuit);
+            }
+            // This caller probes; others keep skipping until the probe is recorded or times out
+            circuit.state = State.HALF_OPEN;
+            circuit.since = System.currentTimeMillis();
+        }
+        String problem = probeUrl == null ? null : probe(probeUrl);
+        synchronized (CircuitBreaker.class) {
+            if (problem != null) {
+                reopen(circuit, "probe of " + probeUrl + " failed: " + problem);
+                skip(circuit);
+            }
+            logger.info("Circuit for {} is half-open, letting a probe through", target);
+        }
+    }
+
+    private static synchronized void record(String target, Throwable error) {
+        if (!ConfigReader.isCircuitBreakerEnabled()) {
+            return;
+        }
+        Circuit circuit = circuits.get(target);
+        if (error == null || !isInfrastructureFailure(error)) {
+            // Any answer that is not an infrastructure error shows the target is reachable
+            if (circuit != null && circuit.state != State.CLOSED) {
+                logger.info("Circuit for {} closed", target);
+            }
+            circuits.remove(target);
+            return;
+        }
+        if (circuit == null) {
+            circuit = new Circuit(target);
+            circuits.put(target, circuit);
+        }
+        String reason = error.getClass().getSimpleName() + ": " + firstLine(error.getMessage());
+        if (circuit.state == State.HALF_OPEN) {
+            reopen(circuit, "probe failed with " + reason);
+            return;
+        }
+        circuit.consecutiveFailures++;
+        int threshold = ConfigReader.getCircuitBreakerFailureThreshold();
+        logger.warn("Infrastructure failure {}/{} for {}: {}", circuit.consecutiveFailures, threshold, target, reason);
+        if (circuit.state == State.CLOSED && circuit.consecutiveFailures >= threshold) {
+            open(circuit, circuit.consecutiveFailures + " consecutive infrastructure failures, last " + reason);
+        }
+    }
+
+    private static synchronized void open(String target, String reason) {
+        open(circuits.computeIfAbsent(target, Circuit::new), reason);
+    }
+
+    private static void open(Circuit circuit, String reason) {
+        openedCount++;
+        reopen(circuit, reason);
+        logger.error("Circuit for {} opened, skipping tests that need it: {}", circuit.target, reason);
+    }
+
+    private static void reopen(Circuit circuit, String reason) {
+        circuit.state = State.OPEN;
+        circuit.reason = reason;
+        circuit.since = System.currentTimeMillis();
+        logger.warn("Circuit for {} is open, next probe in {}s: {}", circuit.target,
+                ConfigReader.getCircuitBreakerProbeIntervalSeconds(), reason);
+    }
+
+    private static void skip(Circuit circuit) {
+        skippedCount.incrementAndGet();
+        throw new SkipException("Circuit for " + circuit.target + " is open: " + circuit.reason);
+    }
+
+    /**
+     * Request a URL and describe why it is unhealthy, or return null when it answers below HTTP 500
+     */
+    static String probe(String url) {
+        HttpURLConnection connection = null;
+        try {
+            int timeout = (int) TimeUnit.SECONDS.toMillis(ConfigReader.getHealthCheckTimeoutSeconds());
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            int status = connection.getResponseCode();
+            return status >= 500 ? "HTTP " + status : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return e.getClass().getSimpleName() + ": " + firstLine(e.getMessage());
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static String browserTarget(String browser) {
+        return "browser " + browser.trim().toLowerCase();
+    }
+
+    /**
+     * Get the host (and port) a URL points to, or null for URLs without a network host
+     */
+    private static String urlTarget(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null || !uri.getScheme().startsWith("http")) {
+                return null;
+            }
+            return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the status endpoint of the configured grid, or null for local runs
+     */
+    private static String gridStatusUrl() {
+        String gridUrl = ConfigReader.getGridUrl();
+        if (!"remote".equalsIgnoreCase(ConfigReader.getDriverFactory()) || gridUrl.isEmpty()) {
+            return null;
+        }
+        return gridUrl.replaceAll("/+$", "") + "/status";
+    }
+
+    private static long getProbeIntervalMillis() {
+        return TimeUnit.SECONDS.toMillis(ConfigReader.getCircuitBreakerProbeIntervalSeconds());
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    private static final class Circuit {
+        private final String target;
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long since;
+        private String reason;
+
+        private Circuit(String target) {
+            this.target = target;
+        }
+    }
+}
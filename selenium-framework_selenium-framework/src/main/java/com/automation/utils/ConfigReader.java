@@ -5,6 +5,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URI;
 import java.util.Properties;
 
 /**
@@ -23,22 +24,30 @@ public class ConfigReader {
             fis.close();
             logger.info("Configuration file loaded successfully");
         } catch (IOException e) {
-            logger.error("Failed to load configuration file: " + e.getMessage());
+            logger.error("Failed to load configuration file: {}", e.getMessage());
             throw new RuntimeException("Configuration file not found at: " + CONFIG_FILE_PATH);
         }
     }
 
     /**
-     * Get property value by key
+     * Get property value by key (a JVM system property with the same key takes precedence)
      */
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = System.getProperty(key, properties.getProperty(key));
         if (value == null) {
-            logger.warn("Property not found: " + key);
+            logger.warn("Property not found: {}", key);
         }
         return value;
     }
 
+    /**
+     * Get property value by key, falling back to a default when it is not set
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
     /**
      * Get application URL
      */
@@ -80,4 +89,622 @@ public class ConfigReader {
     public static boolean isHeadless() {
         return Boolean.parseBoolean(getProperty("headless"));
     }
+
+    /**
+     * Get the browser window size like 1366x768, or empty to maximize the window
+     */
+    public static String getWindowSize() {
+        return getProperty("window.size", "");
+    }
+
+    /**
+     * Check if session state caching is enabled
+     */
+    public static boolean isSessionCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("session.cache.enabled", "true"));
+    }
+
+    /**
+     * Get session state cache time-to-live in minutes
+     */
+    public static int getSessionCacheTtlMinutes() {
+        return Integer.parseInt(getProperty("session.cache.ttl.minutes", "30"));
+    }
+
+    /**
+     * Get directory where session state snapshots are persisted
+     */
+    public static String getSessionCacheDir() {
+        return getProperty("session.cache.dir", "target/session-cache");
+    }
+
+    /**
+     * Get environment name used to key cached session state (defaults to the app host)
+     */
+    public static String getEnvironment() {
+        String environment = getProperty("environment", null);
+        if (environment != null) {
+            return environment;
+        }
+        try {
+            return URI.create(getAppUrl()).getHost();
+        } catch (Exception e) {
+            return "default";
+        }
+    }
+
+    /**
+     * Check if page performance metrics are appended to the history file
+     */
+    public static boolean isPerformanceHistoryEnabled() {
+        return Boolean.parseBoolean(getProperty("performance.history.enabled", "true"));
+    }
+
+    /**
+     * Get the JSON Lines file that stores page performance metrics across runs
+     */
+    public static String getPerformanceHistoryFile() {
+        return getProperty("performance.history.file", "test-output/performance/metrics-history.jsonl");
+    }
+
+    /**
+     * Check if page performance metrics are captured after navigation and page loads
+     */
+    public static boolean isPerformanceCaptureEnabled() {
+        return Boolean.parseBoolean(getProperty("performance.capture.enabled", "true"));
+    }
+
+    /**
+     * Get the maximum number of concurrent load-test browsers per CPU core
+     */
+    public static double getLoadBrowsersPerCore() {
+        return Double.parseDouble(getProperty("load.browsers.per.core", "1"));
+    }
+
+    /**
+     * Get the URL targeted by load flows (defaults to the application URL)
+     */
+    public static String getLoadTargetUrl() {
+        return getProperty("load.target.url", getAppUrl());
+    }
+
+    /**
+     * Get the number of concurrent load-test sessions
+     */
+    public static int getLoadUsers() {
+        return Integer.parseInt(getProperty("load.users", "5"));
+    }
+
+    /**
+     * Get the load-test ramp-up time in seconds
+     */
+    public static int getLoadRampUpSeconds() {
+        return Integer.parseInt(getProperty("load.rampup.seconds", "30"));
+    }
+
+    /**
+     * Get the load-test steady-state duration in seconds
+     */
+    public static int getLoadDurationSeconds() {
+        return Integer.parseInt(getProperty("load.duration.seconds", "60"));
+    }
+
+    /**
+     * Get the directory where load reports are exported
+     */
+    public static String getLoadReportDir() {
+        return getProperty("load.report.dir", "test-output/load");
+    }
+
+    /**
+     * Check if browser process health monitoring is enabled
+     */
+    public static boolean isBrowserMonitorEnabled() {
+        return Boolean.parseBoolean(getProperty("browser.monitor.enabled", "true"));
+    }
+
+    /**
+     * Get the browser process sampling interval in seconds
+     */
+    public static int getBrowserMonitorIntervalSeconds() {
+        return Integer.parseInt(getProperty("browser.monitor.interval.seconds", "5"));
+    }
+
+    /**
+     * Get the resident memory in MB above which a browser session is recycled
+     */
+    public static long getBrowserMaxRssMb() {
+        return Long.parseLong(getProperty("browser.monitor.max.rss.mb", "2048"));
+    }
+
+    /**
+     * Get the cumulative CPU time in seconds above which a browser session is recycled
+     */
+    public static long getBrowserMaxCpuSeconds() {
+        return Long.parseLong(getProperty("browser.monitor.max.cpu.seconds", "900"));
+    }
+
+    /**
+     * Get the open handle count above which a browser session is recycled
+     */
+    public static int getBrowserMaxHandles() {
+        return Integer.parseInt(getProperty("browser.monitor.max.handles", "10000"));
+    }
+
+    /**
+     * Check if per-test log buffering is enabled
+     */
+    public static boolean isLogBufferEnabled() {
+        return Boolean.parseBoolean(getProperty("log.buffer.enabled", "true"));
+    }
+
+    /**
+     * Get the maximum number of log events buffered per test
+     */
+    public static int getLogBufferSize() {
+        return Integer.parseInt(getProperty("log.buffer.size", "2000"));
+    }
+
+    /**
+     * Check if buffered logs of failed tests are also written to per-test files
+     */
+    public static boolean isLogBufferFileEnabled() {
+        return Boolean.parseBoolean(getProperty("log.buffer.write.file", "false"));
+    }
+
+    /**
+     * Get the directory for per-test failure log files
+     */
+    public static String getLogBufferFailureDir() {
+        return getProperty("log.buffer.failure.dir", "logs/failures");
+    }
+
+    /**
+     * Get the test data row filter (comma separated column=value pairs)
+     */
+    public static String getDataFilter() {
+        return getProperty("data.filter", "");
+    }
+
+    /**
+     * Get the comma separated test data row IDs to run, or an empty string for all rows
+     */
+    public static String getDataIds() {
+        return getProperty("data.ids", "");
+    }
+
+    /**
+     * Get the fraction of test data rows to run (1.0 runs every row)
+     */
+    public static double getDataSampleRate() {
+        return Double.parseDouble(getProperty("data.sample.rate", "1.0"));
+    }
+
+    /**
+     * Get the seed that decides which rows are part of a sample
+     */
+    public static long getDataSampleSeed() {
+        return Long.parseLong(getProperty("data.sample.seed", "0"));
+    }
+
+    /**
+     * Get the maximum number of test data rows per data provider, or 0 for no limit
+     */
+    public static int getDataLimit() {
+        return Integer.parseInt(getProperty("data.limit", "0"));
+    }
+
+    /**
+     * Get the run mode: all, failed (only the previous run's failures) or impacted
+     * (only tests affected by changed files)
+     */
+    public static String getRunMode() {
+        return getProperty("run.mode", "all");
+    }
+
+    /**
+     * Get the run lane: all, main (excludes quarantined tests) or quarantine
+     */
+    public static String getRunLane() {
+        return getProperty("run.lane", "all");
+    }
+
+    /**
+     * Get the path of the failure manifest written after each run
+     */
+    public static String getFailureManifestFile() {
+        return getProperty("rerun.manifest.file", "test-output/rerun/failed-tests.json");
+    }
+
+    /**
+     * Get how many times a failed test is retried within a run
+     */
+    public static int getRetryCount() {
+        return Integer.parseInt(getProperty("retry.count", "0"));
+    }
+
+    /**
+     * Get the path of the flakiness history file
+     */
+    public static String getFlakinessHistoryFile() {
+        return getProperty("flakiness.history.file", "test-output/flakiness/history.json");
+    }
+
+    /**
+     * Get the number of recent runs kept per test for flakiness tracking
+     */
+    public static int getFlakinessWindow() {
+        return Integer.parseInt(getProperty("flakiness.window", "20"));
+    }
+
+    /**
+     * Get the minimum number of recorded runs before a test can be quarantined
+     */
+    public static int getQuarantineMinRuns() {
+        return Integer.parseInt(getProperty("quarantine.min.runs", "5"));
+    }
+
+    /**
+     * Get the flakiness rate at which a test is quarantined
+     */
+    public static double getQuarantineFlakinessRate() {
+        return Double.parseDouble(getProperty("quarantine.flakiness.rate", "0.2"));
+    }
+
+    /**
+     * Get the comma separated test IDs that are always quarantined
+     */
+    public static String getQuarantinedTests() {
+        return getProperty("quarantine.tests", "");
+    }
+
+    /**
+     * Check if page-object usage is recorded per test for impact analysis
+     */
+    public static boolean isImpactRecordingEnabled() {
+        return Boolean.parseBoolean(getProperty("impact.record.enabled", "true"));
+    }
+
+    /**
+     * Get the path of the test impact map
+     */
+    public static String getImpactMapFile() {
+        return getProperty("impact.map.file", "test-output/impact/impact-map.json");
+    }
+
+    /**
+     * Get the path of a file listing changed files, or an empty string to run git diff
+     */
+    public static String getImpactChangedFiles() {
+        return getProperty("impact.changed.files", "");
+    }
+
+    /**
+     * Get the git ref changed files are diffed against; empty for the merge-base with the main branch
+     */
+    public static String getImpactBaseRef() {
+        return getProperty("impact.base.ref", "");
+    }
+
+    /**
+     * Get the branch whose merge-base is the default base ref for changed files
+     */
+    public static String getImpactMainBranch() {
+        return getProperty("impact.main.branch", "main");
+    }
+
+    /**
+     * Get the comma separated test IDs or classes that always run in impacted mode
+     */
+    public static String getImpactSafetyTests() {
+        return getProperty("impact.safety.tests", "");
+    }
+
+    /**
+     * Get the comma separated shared paths whose change runs every test
+     */
+    public static String getImpactRunAllPaths() {
+        return getProperty("impact.run.all.paths", "pom.xml,testng.xml,src/main/resources/");
+    }
+
+    /**
+     * Get the directory holding visual baselines, one subdirectory per browser
+     */
+    public static String getVisualBaselineDir() {
+        return getProperty("visual.baseline.dir", "src/test/resources/visual-baselines");
+    }
+
+    /**
+     * Get the directory for actual and diff images of failed visual checks
+     */
+    public static String getVisualOutputDir() {
+        return getProperty("visual.output.dir", "test-output/visual");
+    }
+
+    /**
+     * Check if visual checks overwrite their baselines instead of comparing
+     */
+    public static boolean isVisualUpdateBaselines() {
+        return Boolean.parseBoolean(getProperty("visual.update.baselines", "false"));
+    }
+
+    /**
+     * Get the per-channel difference (0-255) below which pixels count as equal
+     */
+    public static int getVisualPixelTolerance() {
+        return Integer.parseInt(getProperty("visual.pixel.tolerance", "4"));
+    }
+
+    /**
+     * Get the fraction of differing pixels still accepted as a visual match
+     */
+    public static double getVisualMaxDiffRatio() {
+        return Double.parseDouble(getProperty("visual.max.diff.ratio", "0.001"));
+    }
+
+    /**
+     * Get the fraction of differing pixels at which a comparison stops early
+     */
+    public static double getVisualEarlyExitRatio() {
+        return Double.parseDouble(getProperty("visual.early.exit.ratio", "0.05"));
+    }
+
+    /**
+     * Get the perceptual hash distance above which images are rejected without a pixel comparison
+     */
+    public static int getVisualHashMaxDistance() {
+        return Integer.parseInt(getProperty("visual.hash.max.distance", "12"));
+    }
+
+    /**
+     * Get the edge length of the tiles compared in parallel
+     */
+    public static int getVisualTileSize() {
+        return Integer.parseInt(getProperty("visual.tile.size", "256"));
+    }
+
+    /**
+     * Get the number of threads for tile comparison, or 0 for one per CPU core
+     */
+    public static int getVisualThreads() {
+        return Integer.parseInt(getProperty("visual.threads", "0"));
+    }
+
+    /**
+     * Get the browsers of the cross-browser matrix, or empty to run with the single configured browser
+     */
+    public static String getMatrixBrowsers() {
+        return getProperty("matrix.browsers", "");
+    }
+
+    /**
+     * Get the headless flags of the cross-browser matrix
+     */
+    public static String getMatrixHeadless() {
+        return getProperty("matrix.headless", "true");
+    }
+
+    /**
+     * Get the window sizes of the cross-browser matrix, or empty for maximized windows
+     */
+    public static String getMatrixWindowSizes() {
+        return getProperty("matrix.window.sizes", "");
+    }
+
+    /**
+     * Get the number of matrix configurations run in parallel, or 0 for all of them
+     */
+    public static int getMatrixThreadCount() {
+        return Integer.parseInt(getProperty("matrix.thread.count", "0"));
+    }
+
+    /**
+     * Get the driver factory: local, remote, or the class name of a custom DriverFactory
+     */
+    public static String getDriverFactory() {
+        return getProperty("driver.factory", "local");
+    }
+
+    /**
+     * Get the Selenium Grid URL for remote sessions, or empty to start a grid in-process
+     */
+    public static String getGridUrl() {
+        return getProperty("grid.url", "");
+    }
+
+    /**
+     * Get extra capabilities added to remote session requests for grid routing, like "platformName=linux"
+     */
+    public static String getGridCapabilities() {
+        return getProperty("grid.capabilities", "");
+    }
+
+    /**
+     * Get how many times a failed remote session start is retried
+     */
+    public static int getGridSessionRetries() {
+        return Integer.parseInt(getProperty("grid.session.retries", "2"));
+    }
+
+    /**
+     * Get the delay before the first session start retry, growing with each attempt
+     */
+    public static long getGridRetryDelayMs() {
+        return Long.parseLong(getProperty("grid.retry.delay.ms", "2000"));
+    }
+
+    /**
+     * Get the interval for polling the grid session queue while a session starts, or 0 to disable
+     */
+    public static long getGridQueuePollMs() {
+        return Long.parseLong(getProperty("grid.queue.poll.ms", "250"));
+    }
+
+    /**
+     * Get the connection timeout for grid requests
+     */
+    public static int getGridConnectTimeoutSeconds() {
+        return Integer.parseInt(getProperty("grid.connect.timeout.seconds", "10"));
+    }
+
+    /**
+     * Get the read timeout for grid requests, which must cover the time a session waits in the queue
+     */
+    public static int getGridReadTimeoutSeconds() {
+        return Integer.parseInt(getProperty("grid.read.timeout.seconds", "300"));
+    }
+
+    /**
+     * Get the port of the in-process grid, or 0 for a free port
+     */
+    public static int getGridLocalPort() {
+        return Integer.parseInt(getProperty("grid.local.port", "0"));
+    }
+
+    /**
+     * Get the number of concurrent sessions of the in-process grid
+     */
+    public static int getGridLocalMaxSessions() {
+        return Integer.parseInt(getProperty("grid.local.max.sessions", "4"));
+    }
+
+    /**
+     * Get the browsers offered by the in-process grid, or empty to detect installed drivers
+     */
+    public static String getGridLocalBrowsers() {
+        return getProperty("grid.local.browsers", "");
+    }
+
+    /**
+     * Check if local sessions start from copies of a pre-built profile template
+     */
+    public static boolean isProfileTemplateEnabled() {
+        return Boolean.parseBoolean(getProperty("profile.template.enabled", "true"));
+    }
+
+    /**
+     * Get the directory holding profile templates and per-session copies
+     */
+    public static String getProfileTemplateDir() {
+        return getProperty("profile.template.dir", "target/profile-templates");
+    }
+
+    /**
+     * Get how profile copies are made: auto, reflink, link or copy
+     */
+    public static String getProfileTemplateCopyMode() {
+        return getProperty("profile.template.copy.mode", "auto").toLowerCase();
+    }
+
+    /**
+     * Get the URL loaded while building a template to pre-warm its disk cache, or empty for none
+     */
+    public static String getProfileTemplateWarmupUrl() {
+        return getProperty("profile.template.warmup.url", "");
+    }
+
+    /**
+     * Get browser extensions (.crx or .xpi paths) installed once into each template
+     */
+    public static String getProfileTemplateExtensions() {
+        return getProperty("profile.template.extensions", "");
+    }
+
+    /**
+     * Get template paths made read-only, so profile copies can hard-link instead of copy them
+     */
+    public static String getProfileTemplateReadOnlyPaths() {
+        return getProperty("profile.template.readonly.paths", "Default/Extensions,extensions");
+    }
+
+    /**
+     * Check if a fresh-profile launch is measured after building a template, for comparison
+     */
+    public static boolean isProfileTemplateMeasureFresh() {
+        return Boolean.parseBoolean(getProperty("profile.template.measure.fresh", "true"));
+    }
+
+    /**
+     * Check if tests are skipped once the browser or target host keeps failing
+     */
+    public static boolean isCircuitBreakerEnabled() {
+        return Boolean.parseBoolean(getProperty("circuit.breaker.enabled", "true"));
+    }
+
+    /**
+     * Get the number of consecutive infrastructure failures that opens a circuit
+     */
+    public static int getCircuitBreakerFailureThreshold() {
+        return Integer.parseInt(getProperty("circuit.breaker.failure.threshold", "3"));
+    }
+
+    /**
+     * Get the seconds an open circuit waits before letting a probe through
+     */
+    public static int getCircuitBreakerProbeIntervalSeconds() {
+        return Integer.parseInt(getProperty("circuit.breaker.probe.interval.seconds", "30"));
+    }
+
+    /**
+     * Check if app.url and the grid are checked before the first test
+     */
+    public static boolean isHealthCheckEnabled() {
+        return Boolean.parseBoolean(getProperty("health.check.enabled", "true"));
+    }
+
+    /**
+     * Get the connect and read timeout of health checks and probes in seconds
+     */
+    public static int getHealthCheckTimeoutSeconds() {
+        return Integer.parseInt(getProperty("health.check.timeout.seconds", "5"));
+    }
+
+    /**
+     * Check if a failure artifact bundle is written for failed tests
+     */
+    public static boolean isFailureArtifactsEnabled() {
+        return Boolean.parseBoolean(getProperty("failure.artifacts.enabled", "true"));
+    }
+
+    /**
+     * Get the directory failure artifact bundles are written to
+     */
+    public static String getFailureArtifactsDir() {
+        return getProperty("failure.artifacts.dir", "test-output/failure-artifacts");
+    }
+
+    /**
+     * Get the number of recent driver commands kept per session; 0 turns recording off
+     */
+    public static int getFailureArtifactsCommandHistory() {
+        return Integer.parseInt(getProperty("failure.artifacts.command.history", "50"));
+    }
+
+    /**
+     * Get the number of recent network entries put in a bundle
+     */
+    public static int getFailureArtifactsNetworkEntries() {
+        return Integer.parseInt(getProperty("failure.artifacts.network.entries", "100"));
+    }
+
+    /**
+     * Get the size in KB above which a bundle entry (e.g. the DOM) is truncated
+     */
+    public static int getFailureArtifactsMaxEntryKb() {
+        return Integer.parseInt(getProperty("failure.artifacts.max.entry.kb", "2048"));
+    }
+
+    /**
+     * Get the maximum number of bundles written in a run
+     */
+    public static int getFailureArtifactsMaxBundles() {
+        return Integer.parseInt(getProperty("failure.artifacts.max.bundles", "50"));
+    }
+
+    /**
+     * Get the total size in MB of bundles after which a run stops writing them
+     */
+    public static int getFailureArtifactsMaxTotalMb() {
+        return Integer.parseInt(getProperty("failure.artifacts.max.total.mb", "200"));
+    }
 }
@@ -21,9 +21,9 @@ public class ExtentReportManager {
     private static String reportPath;
 
     /**
-     * Initialize Extent Reports
+     * Initialize Extent Reports once, even when parallel tests start at the same time
      */
-    public static void initReports() {
+    public static synchronized void initReports() {
         if (extent == null) {
             String timestamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new Date());
             reportPath = System.getProperty("user.dir") + "/test-output/ExtentReport_" + timestamp + ".html";
@@ -44,19 +44,20 @@ public class ExtentReportManager {
             extent.setSystemInfo("Operating System", System.getProperty("os.name"));
             extent.setSystemInfo("User Name", System.getProperty("user.name"));
             extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-            extent.setSystemInfo("Browser", ConfigReader.getBrowser());
+            String matrix = ConfigReader.getMatrixBrowsers();
+            extent.setSystemInfo("Browser", matrix.isEmpty() ? ConfigReader.getBrowser() : "matrix: " + matrix);
             
-            logger.info("Extent Report initialized at: " + reportPath);
+            logger.info("Extent Report initialized at: {}", reportPath);
         }
     }
 
     /**
      * Create a new test in the report
      */
-    public static void createTest(String testName, String description) {
+    public static synchronized void createTest(String testName, String description) {
         ExtentTest test = extent.createTest(testName, description);
         extentTest.set(test);
-        logger.info("Created test: " + testName);
+        logger.info("Created test: {}", testName);
     }
 
     /**
@@ -66,10 +67,26 @@ public class ExtentReportManager {
         return extentTest.get();
     }
 
+    /**
+     * Make an existing test the current test of this thread
+     */
+    public static void setTest(ExtentTest test) {
+        extentTest.set(test);
+    }
+
+    /**
+     * Add or update a system information entry shown on the report dashboard
+     */
+    public static synchronized void setSystemInfo(String key, String value) {
+        if (extent != null) {
+            extent.setSystemInfo(key, value);
+        }
+    }
+
     /**
      * Flush the report
      */
-    public static void flushReports() {
+    public static synchronized void flushReports() {
         if (extent != null) {
             extent.flush();
             logger.info("Extent Report flushed successfully");
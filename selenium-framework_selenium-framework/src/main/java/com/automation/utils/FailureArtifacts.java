@@ -0,0 +1,219 @@
+package com.automation.utils;
+
+import com.automation.base.DriverConfig;
+import com.automation.driver.CommandHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Collects what is needed to debug a failure without rerunning it - serialized DOM, browser
+ * console, recent network entries, URL, error and the last driver commands - and streams it into
+ * one zip per failure. Page state is read on the test thread while the browser is still open;
+ * compressing and writing happens on a background thread. Entries, bundle count and total size
+ * per run are capped so that a heavily failing run cannot flood the disk.
+ */
+public class FailureArtifacts {
+    private static final Logger logger = LogManager.getLogger(FailureArtifacts.class);
+    // Captured bundles waiting to be written are held in memory, so only a few may queue up
+    private static final int MAX_PENDING = 8;
+
+    private static final AtomicInteger bundleCount = new AtomicInteger();
+    private static final AtomicInteger droppedCount = new AtomicInteger();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static ThreadPoolExecutor writer;
+
+    /**
+     * Capture the page state of a failed test and queue it to be written; returns the bundle path,
+     * or null when capture is off, a cap is reached or there is no driver
+     */
+    public static Path capture(WebDriver driver, String testName, Throwable error) {
+        if (!ConfigReader.isFailureArtifactsEnabled() || driver == null) {
+            return null;
+        }
+        if (bundleCount.get() >= ConfigReader.getFailureArtifactsMaxBundles()
+                || bytesWritten.get() >= ConfigReader.getFailureArtifactsMaxTotalMb() * 1024L * 1024L) {
+            if (droppedCount.getAndIncrement() == 0) {
+                logger.warn("Failure artifact cap reached, no more bundles are written in this run");
+            }
+            return null;
+        }
+        // Read the command history first, so the capture's own commands are not part of it
+        String commands = String.join("\n", CommandHistory.get(driver));
+        Map<String, String> entries = new LinkedHashMap<>();
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("test", testName);
+        page.put("configuration", DriverConfig.current().getName());
+        page.put("capturedAt", System.currentTimeMillis());
+        page.put("url", read("URL", driver::getCurrentUrl));
+        page.put("title", read("title", driver::getTitle));
+        page.put("error", error == null ? null : error.toString());
+        entries.put("page.json", JsonUtility.toJson(page));
+        entries.put("error.txt", error == null ? "" : stackTrace(error));
+        entries.put("commands.log", commands);
+        entries.put("dom.html", read("DOM", driver::getPageSource));
+        entries.put("console.log", read("console log", () -> getConsoleLog(driver)));
+        entries.put("network.json", JsonUtility.toJson(PerformanceCollector.getResourceEntries(driver,
+                ConfigReader.getFailureArtifactsNetworkEntries())));
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        Path bundle = Paths.get(ConfigReader.getFailureArtifactsDir(),
+                testName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + timestamp + ".zip");
+        try {
+            getWriter().execute(() -> write(bundle, entries));
+        } catch (RejectedExecutionException e) {
+            droppedCount.incrementAndGet();
+            logger.warn("Failure artifact writer is busy, dropping bundle for {}", testName);
+            return null;
+        }
+        bundleCount.incrementAndGet();
+        return bundle;
+    }
+
+    /**
+     * Get a link to a bundle relative to the Extent report, so the report folder can be moved
+     */
+    public static String getReportLink(Path bundle) {
+        String reportPath = ExtentReportManager.getReportPath();
+        Path target = bundle.toAbsolutePath();
+        if (reportPath == null) {
+            return target.toUri().toString();
+        }
+        return Paths.get(reportPath).getParent().relativize(target).toString().replace('\\', '/');
+    }
+
+    /**
+     * Wait for queued bundles to be written, e.g. before the report is flushed at suite end
+     */
+    public static void awaitPending() {
+        ThreadPoolExecutor executor;
+        synchronized (FailureArtifacts.class) {
+            executor = writer;
+            writer = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Failure artifacts still being written after 30s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get a summary of written and dropped bundles for the report
+     */
+    public static String getSummary() {
+        if (bundleCount.get() == 0 && droppedCount.get() == 0) {
+            return "none";
+        }
+        return String.format("%d bundles (%d KB) in %s%s", bundleCount.get(), bytesWritten.get() / 1024,
+                ConfigReader.getFailureArtifactsDir(),
+                droppedCount.get() == 0 ? "" : ", " + droppedCount.get() + " skipped by caps");
+    }
+
+    /**
+     * Wait for pending bundles and reset the counters and caps of the run
+     */
+    public static void reset() {
+        awaitPending();
+        bundleCount.set(0);
+        droppedCount.set(0);
+        bytesWritten.set(0);
+    }
+
+    /**
+     * Stream the entries into a zip, truncating entries over failure.artifacts.max.entry.kb
+     */
+    private static void write(Path bundle, Map<String, String> entries) {
+        int maxEntryBytes = ConfigReader.getFailureArtifactsMaxEntryKb() * 1024;
+        Path partial = bundle.resolveSibling(bundle.getFileName() + ".part");
+        try {
+            Files.createDirectories(bundle.getParent());
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(partial));
+                 ZipOutputStream zip = new ZipOutputStream(file, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    byte[] content = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                    zip.putNextEntry(new ZipEntry(entry.getKey()));
+                    zip.write(content, 0, Math.min(content.length, maxEntryBytes));
+                    if (content.length > maxEntryBytes) {
+                        zip.write(("\n[truncated " + (content.length - maxEntryBytes) + " bytes]")
+                                .getBytes(StandardCharsets.UTF_8));
+                    }
+                    zip.closeEntry();
+                }
+            }
+            Files.move(partial, bundle, StandardCopyOption.REPLACE_EXISTING);
+            bytesWritten.addAndGet(Files.size(bundle));
+            logger.info("Failure artifacts written to {}", bundle);
+        } catch (IOException e) {
+            logger.error("Failed to write failure artifacts {}: {}", bundle, e.getMessage());
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getWriter() {
+        if (writer == null) {
+            writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "failure-artifacts");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return writer;
+    }
+
+    private static String getConsoleLog(WebDriver driver) {
+        return driver.manage().logs().get(LogType.BROWSER).getAll().stream()
+                .map(LogEntry::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Read one piece of page state; a failing read is noted in the bundle instead of aborting it
+     */
+    private static String read(String what, Supplier<String> reader) {
+        try {
+            return String.valueOf(reader.get());
+        } catch (RuntimeException e) {
+            return what + " not available: " + String.valueOf(e.getMessage()).split("\n", 2)[0];
+        }
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+}
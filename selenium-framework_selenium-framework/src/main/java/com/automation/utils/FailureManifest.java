@@ -0,0 +1,165 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Records the tests (and data rows) that failed in a run and persists them, so a
+ * following run can execute only that subset with run.mode=failed
+ */
+public class FailureManifest {
+    private static final Logger logger = LogManager.getLogger(FailureManifest.class);
+
+    private static final Map<String, Set<String>> currentFailures = new TreeMap<>();
+    private static Map<String, Set<String>> previousFailures;
+
+    /**
+     * Get the manifest key of a test: its qualified name, plus "@configuration" in matrix runs
+     * so a rerun only repeats the browser configurations it failed on
+     */
+    public static String testKey(String qualifiedName, String configuration) {
+        return configuration == null ? qualifiedName : qualifiedName + "@" + configuration;
+    }
+
+    /**
+     * Check if a test failed in the previous run; keys without a configuration match every one
+     */
+    public static synchronized boolean hasFailed(String qualifiedName, String configuration) {
+        Set<String> failed = loadPrevious().keySet();
+        return failed.contains(qualifiedName) || failed.contains(testKey(qualifiedName, configuration));
+    }
+
+    /**
+     * Record a failed test, optionally with the data row it was invoked with
+     */
+    public static synchronized void recordFailure(String testId, String rowSource, String rowId) {
+        Set<String> rows = currentFailures.computeIfAbsent(testId, id -> new LinkedHashSet<>());
+        if (rowId != null) {
+            rows.add(rowKey(rowSource, rowId));
+        }
+    }
+
+    /**
+     * Write this run's failures to the lane's manifest file, replacing the previous manifest.
+     * Impacted runs only execute a subset of the tests, so they leave the manifest alone.
+     */
+    public static synchronized void save() {
+        if ("impacted".equalsIgnoreCase(ConfigReader.getRunMode())) {
+            logger.info("Impacted run, failure manifest {} left unchanged", getFile());
+            return;
+        }
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("createdAt", System.currentTimeMillis());
+        manifest.put("runMode", ConfigReader.getRunMode());
+        manifest.put("runLane", ConfigReader.getRunLane());
+        List<Map<String, Object>> failures = new ArrayList<>();
+        currentFailures.forEach((test, rows) -> {
+            Map<String, Object> failure = new LinkedHashMap<>();
+            failure.put("test", test);
+            failure.put("rows", new ArrayList<>(rows));
+            failures.add(failure);
+        });
+        manifest.put("failures", failures);
+        try {
+            Path file = getFile();
+            JsonUtility.write(file, manifest);
+            logger.info("Failure manifest with {} tests written to {}", failures.size(), file);
+        } catch (IOException e) {
+            logger.error("Failed to write failure manifest: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Check if a manifest from a previous run exists
+     */
+    public static boolean exists() {
+        return Files.exists(getFile());
+    }
+
+    /**
+     * Get the IDs of tests that failed in the previous run
+     */
+    public static synchronized Set<String> getFailedTests() {
+        return Collections.unmodifiableSet(loadPrevious().keySet());
+    }
+
+    /**
+     * Get the IDs of rows from a data file that failed in the previous run. An empty set
+     * means no row of that file was recorded and the file should not be narrowed.
+     */
+    public static synchronized Set<String> getFailedRows(String rowSource) {
+        String prefix = rowSource + ":";
+        Set<String> rows = new LinkedHashSet<>();
+        for (Set<String> failedRows : loadPrevious().values()) {
+            for (String row : failedRows) {
+                if (row.startsWith(prefix)) {
+                    rows.add(row.substring(prefix.length()));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Forget the loaded previous manifest, so it is read again from the manifest file
+     */
+    public static synchronized void reload() {
+        previousFailures = null;
+    }
+
+    /**
+     * Get the manifest file of the current lane: rerun.manifest.file for the main run, with the
+     * lane name appended for the quarantine lane so its failures never replace the main list
+     */
+    public static Path getFile() {
+        Path file = Paths.get(ConfigReader.getFailureManifestFile());
+        if (!"quarantine".equalsIgnoreCase(ConfigReader.getRunLane())) {
+            return file;
+        }
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return file.resolveSibling(dot > 0 ? name.substring(0, dot) + "-quarantine" + name.substring(dot)
+                : name + "-quarantine");
+    }
+
+    private static String rowKey(String rowSource, String rowId) {
+        return rowSource + ":" + rowId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Set<String>> loadPrevious() {
+        if (previousFailures != null) {
+            return previousFailures;
+        }
+        previousFailures = new TreeMap<>();
+        Path file = getFile();
+        if (!Files.exists(file)) {
+            return previousFailures;
+        }
+        try {
+            Object failures = JsonUtility.readMap(file).get("failures");
+            if (failures instanceof List) {
+                for (Map<String, Object> failure : (List<Map<String, Object>>) failures) {
+                    previousFailures.put(String.valueOf(failure.get("test")),
+                            new LinkedHashSet<>((List<String>) failure.get("rows")));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable failure manifest {}: {}", file, e.getMessage());
+        }
+        return previousFailures;
+    }
+}
@@ -0,0 +1,151 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps a rolling window of per-test outcomes across runs and quarantines tests whose
+ * flakiness rate crosses the configured threshold. A run counts as flaky when the test
+ * failed and then passed on retry; a failed run counts towards flakiness only if the test
+ * also passed within the window, so consistently broken tests are not quarantined.
+ */
+public class FlakinessHistory {
+    private static final Logger logger = LogManager.getLogger(FlakinessHistory.class);
+
+    /**
+     * Result of a test in a single run, ordered by severity
+     */
+    public enum Outcome {
+        PASS, FLAKY, FAIL
+    }
+
+    private static final Map<String, Outcome> runOutcomes = new TreeMap<>();
+    private static Map<String, List<String>> history;
+
+    /**
+     * Record an invocation outcome; a test invoked several times keeps its worst outcome
+     */
+    public static synchronized void recordOutcome(String testId, Outcome outcome) {
+        runOutcomes.merge(testId, outcome, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+    }
+
+    /**
+     * Append this run's outcomes to the history file and recompute the quarantine list
+     */
+    public static synchronized void save() {
+        Map<String, List<String>> tests = load();
+        int window = ConfigReader.getFlakinessWindow();
+        runOutcomes.forEach((test, outcome) -> {
+            List<String> recent = tests.computeIfAbsent(test, id -> new ArrayList<>());
+            recent.add(outcome.name().toLowerCase());
+            while (recent.size() > window) {
+                recent.remove(0);
+            }
+        });
+
+        Map<String, Object> file = new LinkedHashMap<>();
+        file.put("updatedAt", System.currentTimeMillis());
+        Map<String, Object> entries = new TreeMap<>();
+        tests.forEach((test, recent) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("flakinessRate", getFlakinessRate(recent));
+            entry.put("recent", recent);
+            entries.put(test, entry);
+        });
+        file.put("tests", entries);
+        file.put("quarantined", new ArrayList<>(getQuarantined()));
+        try {
+            Path path = Paths.get(ConfigReader.getFlakinessHistoryFile());
+            JsonUtility.write(path, file);
+            logger.info("Flakiness history for {} tests written to {}", tests.size(), path);
+        } catch (IOException e) {
+            logger.error("Failed to write flakiness history: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the flakiness rate of a test over its recorded window
+     */
+    public static synchronized double getFlakinessRate(String testId) {
+        return getFlakinessRate(load().getOrDefault(testId, Collections.emptyList()));
+    }
+
+    /**
+     * Check if a test is quarantined, either configured explicitly or by its history
+     */
+    public static synchronized boolean isQuarantined(String testId) {
+        return getQuarantined().contains(testId);
+    }
+
+    /**
+     * Get all quarantined test IDs
+     */
+    public static synchronized Set<String> getQuarantined() {
+        Set<String> quarantined = new TreeSet<>();
+        String configured = ConfigReader.getQuarantinedTests();
+        if (!configured.isEmpty()) {
+            quarantined.addAll(Arrays.asList(configured.split("\\s*,\\s*")));
+        }
+        load().forEach((test, recent) -> {
+            if (recent.size() >= ConfigReader.getQuarantineMinRuns()
+                    && getFlakinessRate(recent) >= ConfigReader.getQuarantineFlakinessRate()) {
+                quarantined.add(test);
+            }
+        });
+        return quarantined;
+    }
+
+    /**
+     * Forget the loaded history, so it is read again from the history file
+     */
+    public static synchronized void reload() {
+        history = null;
+    }
+
+    private static double getFlakinessRate(List<String> recent) {
+        if (recent.isEmpty()) {
+            return 0;
+        }
+        boolean passedInWindow = recent.stream().anyMatch(o -> !o.equals("fail"));
+        long flaky = recent.stream()
+                .filter(o -> o.equals("flaky") || (passedInWindow && o.equals("fail")))
+                .count();
+        return Math.round(1000.0 * flaky / recent.size()) / 1000.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<String>> load() {
+        if (history != null) {
+            return history;
+        }
+        history = new TreeMap<>();
+        Path file = Paths.get(ConfigReader.getFlakinessHistoryFile());
+        if (!Files.exists(file)) {
+            return history;
+        }
+        try {
+            Object tests = JsonUtility.readMap(file).get("tests");
+            if (tests instanceof Map) {
+                ((Map<String, Map<String, Object>>) tests).forEach((test, entry) ->
+                        history.put(test, new ArrayList<>((List<String>) entry.get("recent"))));
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable flakiness history {}: {}", file, e.getMessage());
+        }
+        return history;
+    }
+}
@@ -0,0 +1,77 @@
+package com.automation.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Utility class for reading and writing JSON files used by framework reports and caches
+ */
+public class JsonUtility {
+    private static final Json JSON = new Json();
+
+    /**
+     * Serialize an object to pretty-printed JSON
+     */
+    public static String toJson(Object value) {
+        return JSON.toJson(value);
+    }
+
+    /**
+     * Serialize an object to a single line of JSON
+     */
+    public static String toJsonLine(Object value) {
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput output = JSON.newOutput(line)) {
+            output.setPrettyPrint(false).write(value);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Parse a JSON object
+     */
+    public static Map<String, Object> parseMap(String json) {
+        return JSON.toType(json, Json.MAP_TYPE);
+    }
+
+    /**
+     * Read a JSON object from a file
+     */
+    public static Map<String, Object> readMap(Path file) throws IOException {
+        return parseMap(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write an object to a file as pretty-printed JSON, creating parent directories
+     */
+    public static void write(Path file, Object value) throws IOException {
+        createParentDirectories(file);
+        Files.write(file, toJson(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Append an object to a JSON Lines file, creating parent directories
+     */
+    public static synchronized void appendLine(Path file, Object value) throws IOException {
+        createParentDirectories(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(toJsonLine(value));
+            writer.newLine();
+        }
+    }
+
+    private static void createParentDirectories(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.automation.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Navigation, paint and resource timings captured for a single page load
+ */
+public class PageMetrics {
+    private final String label;
+    private final String url;
+    private final long timestamp;
+    private double timeToFirstByte = -1;
+    private double domContentLoaded = -1;
+    private double loadEvent = -1;
+    private double firstPaint = -1;
+    private double firstContentfulPaint = -1;
+    private int resourceCount;
+    private long transferSize;
+    private final Map<String, Double> cdpMetrics = new LinkedHashMap<>();
+
+    public PageMetrics(String label, String url) {
+        this.label = label;
+        this.url = url;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public void setTimeToFirstByte(double timeToFirstByte) {
+        this.timeToFirstByte = timeToFirstByte;
+    }
+
+    public double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    public void setDomContentLoaded(double domContentLoaded) {
+        this.domContentLoaded = domContentLoaded;
+    }
+
+    public double getLoadEvent() {
+        return loadEvent;
+    }
+
+    public void setLoadEvent(double loadEvent) {
+        this.loadEvent = loadEvent;
+    }
+
+    public double getFirstPaint() {
+        return firstPaint;
+    }
+
+    public void setFirstPaint(double firstPaint) {
+        this.firstPaint = firstPaint;
+    }
+
+    public double getFirstContentfulPaint() {
+        return firstContentfulPaint;
+    }
+
+    public void setFirstContentfulPaint(double firstContentfulPaint) {
+        this.firstContentfulPaint = firstContentfulPaint;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    public void setResourceCount(int resourceCount) {
+        this.resourceCount = resourceCount;
+    }
+
+    public long getTransferSize() {
+        return transferSize;
+    }
+
+    public void setTransferSize(long transferSize) {
+        this.transferSize = transferSize;
+    }
+
+    public Map<String, Double> getCdpMetrics() {
+        return cdpMetrics;
+    }
+
+    /**
+     * Convert to a map for JSON serialization
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("timestamp", timestamp);
+        map.put("label", label);
+        map.put("url", url);
+        map.put("timeToFirstByte", timeToFirstByte);
+        map.put("domContentLoaded", domContentLoaded);
+        map.put("loadEvent", loadEvent);
+        map.put("firstPaint", firstPaint);
+        map.put("firstContentfulPaint", firstContentfulPaint);
+        map.put("resourceCount", resourceCount);
+        map.put("transferSize", transferSize);
+        if (!cdpMetrics.isEmpty()) {
+            map.put("cdp", cdpMetrics);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: TTFB=%.0fms DCL=%.0fms load=%.0fms FCP=%.0fms resources=%d transfer=%dKB",
+                label, timeToFirstByte, domContentLoaded, loadEvent, firstContentfulPaint,
+                resourceCount, transferSize / 1024);
+    }
+}
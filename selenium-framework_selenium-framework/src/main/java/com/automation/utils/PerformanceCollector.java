@@ -0,0 +1,166 @@
+package com.automation.utils;
+
+import com.automation.base.PerformanceBudget;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects Navigation, Paint and Resource Timing entries (plus CDP metrics on Chromium),
+ * checks them against page budgets and appends them to a history file for trend tracking
+ */
+public class PerformanceCollector {
+    private static final Logger logger = LogManager.getLogger(PerformanceCollector.class);
+    private static final ThreadLocal<PageMetrics> last = new ThreadLocal<>();
+
+    private static final String TIMING_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];"
+            + "var res = performance.getEntriesByType('resource');"
+            + "var out = {resourceCount: res.length, transferSize: nav ? nav.transferSize : 0};"
+            + "for (var i = 0; i < res.length; i++) { out.transferSize += res[i].transferSize || 0; }"
+            + "if (nav) { out.ttfb = nav.responseStart; out.dcl = nav.domContentLoadedEventEnd;"
+            + " out.load = nav.loadEventEnd; }"
+            + "performance.getEntriesByType('paint').forEach(function (p) { out[p.name] = p.startTime; });"
+            + "return out;";
+
+    private static final String RESOURCE_SCRIPT =
+            "return performance.getEntriesByType('resource').slice(-arguments[0]).map(function (r) {"
+            + " return {name: r.name, initiatorType: r.initiatorType, startTime: r.startTime,"
+            + " duration: r.duration, transferSize: r.transferSize || 0}; });";
+
+    /**
+     * Collect timing metrics for the current page and record them in the history file
+     */
+    public static PageMetrics collect(WebDriver driver, String label) {
+        PageMetrics metrics = new PageMetrics(label, driver.getCurrentUrl());
+        try {
+            Map<String, Object> timings = asMap(((JavascriptExecutor) driver).executeScript(TIMING_SCRIPT));
+            metrics.setTimeToFirstByte(number(timings.get("ttfb")));
+            metrics.setDomContentLoaded(number(timings.get("dcl")));
+            metrics.setLoadEvent(number(timings.get("load")));
+            metrics.setFirstPaint(number(timings.get("first-paint")));
+            metrics.setFirstContentfulPaint(number(timings.get("first-contentful-paint")));
+            metrics.setResourceCount((int) number(timings.get("resourceCount")));
+            metrics.setTransferSize((long) number(timings.get("transferSize")));
+        } catch (Exception e) {
+            logger.warn("Failed to read performance timings: {}", e.getMessage());
+        }
+        collectCdpMetrics(driver, metrics);
+
+        logger.info("Performance {}", metrics);
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) {
+            test.log(Status.INFO, "Performance " + metrics);
+        }
+        record(metrics);
+        last.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Get the metrics last collected on the current thread, e.g. by navigateToUrl, or null
+     */
+    public static PageMetrics getLastMetrics() {
+        return last.get();
+    }
+
+    /**
+     * Collect metrics and assert them against the page object's budget, if it declares one
+     */
+    public static PageMetrics collectAndAssertBudget(WebDriver driver, Class<?> pageClass) {
+        PageMetrics metrics = collect(driver, pageClass.getSimpleName());
+        PerformanceBudget budget = pageClass.getAnnotation(PerformanceBudget.class);
+        if (budget != null) {
+            List<String> violations = checkBudget(metrics, budget);
+            if (!violations.isEmpty()) {
+                throw new AssertionError("Performance budget exceeded for " + pageClass.getSimpleName()
+                        + ": " + String.join("; ", violations));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Compare metrics with a budget and describe every exceeded limit
+     */
+    public static List<String> checkBudget(PageMetrics metrics, PerformanceBudget budget) {
+        List<String> violations = new ArrayList<>();
+        checkLimit(violations, "DOMContentLoaded", metrics.getDomContentLoaded(), budget.domContentLoadedMs(), "ms");
+        checkLimit(violations, "load", metrics.getLoadEvent(), budget.loadMs(), "ms");
+        checkLimit(violations, "first contentful paint", metrics.getFirstContentfulPaint(),
+                budget.firstContentfulPaintMs(), "ms");
+        checkLimit(violations, "transfer size", metrics.getTransferSize() / 1024.0, budget.transferSizeKb(), "KB");
+        checkLimit(violations, "resource count", metrics.getResourceCount(), budget.resourceCount(), "");
+        return violations;
+    }
+
+    /**
+     * Get the most recent Resource Timing entries of the current page
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> getResourceEntries(WebDriver driver, int limit) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(RESOURCE_SCRIPT, limit);
+            return result instanceof List ? (List<Map<String, Object>>) result : Collections.emptyList();
+        } catch (Exception e) {
+            logger.warn("Failed to read resource timings: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static void checkLimit(List<String> violations, String name, double actual, long limit, String unit) {
+        if (limit >= 0 && actual > limit) {
+            violations.add(String.format("%s %.0f%s > %d%s", name, actual, unit, limit, unit));
+        }
+    }
+
+    private static void collectCdpMetrics(WebDriver driver, PageMetrics metrics) {
+        if (!(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Performance.enable", Collections.emptyMap());
+            Object result = cdp.executeCdpCommand("Performance.getMetrics", Collections.emptyMap()).get("metrics");
+            if (result instanceof List) {
+                for (Object entry : (List<?>) result) {
+                    Map<String, Object> metric = asMap(entry);
+                    metrics.getCdpMetrics().put(String.valueOf(metric.get("name")), number(metric.get("value")));
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("CDP performance metrics unavailable: {}", e.getMessage());
+        }
+    }
+
+    private static void record(PageMetrics metrics) {
+        if (!ConfigReader.isPerformanceHistoryEnabled()) {
+            return;
+        }
+        try {
+            JsonUtility.appendLine(Paths.get(ConfigReader.getPerformanceHistoryFile()), metrics.toMap());
+        } catch (IOException e) {
+            logger.warn("Failed to record performance history: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+}
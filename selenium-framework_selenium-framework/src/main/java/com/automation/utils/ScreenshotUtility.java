@@ -40,10 +40,10 @@ public class ScreenshotUtility {
             File destination = new File(screenshotPath);
             FileUtils.copyFile(source, destination);
 
-            logger.info("Screenshot captured: " + screenshotPath);
+            logger.info("Screenshot captured: {}", screenshotPath);
             return screenshotPath;
         } catch (IOException e) {
-            logger.error("Failed to capture screenshot: " + e.getMessage());
+            logger.error("Failed to capture screenshot: {}", e.getMessage());
             return null;
         }
     }
@@ -56,7 +56,7 @@ public class ScreenshotUtility {
             TakesScreenshot ts = (TakesScreenshot) driver;
             return ts.getScreenshotAs(OutputType.BASE64);
         } catch (Exception e) {
-            logger.error("Failed to capture screenshot as Base64: " + e.getMessage());
+            logger.error("Failed to capture screenshot as Base64: {}", e.getMessage());
             return null;
         }
     }
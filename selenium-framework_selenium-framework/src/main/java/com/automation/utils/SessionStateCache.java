@@ -0,0 +1,304 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Caches browser session state (cookies, localStorage and sessionStorage) captured after a
+ * named setup flow, so later tests can restore it instead of replaying the UI steps. Snapshots
+ * hold login cookies in plain text and are written readable by the current user only.
+ */
+public class SessionStateCache {
+    private static final Logger logger = LogManager.getLogger(SessionStateCache.class);
+    private static final Json JSON = new Json();
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIR = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var s = window[arguments[0]], out = {};"
+            + "for (var i = 0; i < s.length; i++) { var k = s.key(i); out[k] = s.getItem(k); }"
+            + "return out;";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var s = window[arguments[0]], d = arguments[1]; s.clear();"
+            + "for (var k in d) { s.setItem(k, d[k]); }";
+
+    /**
+     * Restore the cached state for a flow, or run the flow and cache the resulting state
+     */
+    public static boolean restoreOrRecord(WebDriver driver, String flowName, Runnable setupFlow) {
+        return restoreOrRecord(driver, flowName, setupFlow, webDriver -> true);
+    }
+
+    /**
+     * Restore the cached state for a flow, or run the flow and cache the resulting state.
+     * The verifier is evaluated after a restore; a failed check invalidates the snapshot.
+     *
+     * @return true if the state was restored from the cache, false if the flow was replayed
+     */
+    public static boolean restoreOrRecord(WebDriver driver, String flowName, Runnable setupFlow,
+                                          Predicate<WebDriver> verifier) {
+        if (!ConfigReader.isSessionCacheEnabled()) {
+            setupFlow.run();
+            return false;
+        }
+
+        String key = cacheKey(flowName);
+        Snapshot snapshot = lookup(key);
+        if (snapshot != null) {
+            long start = System.nanoTime();
+            if (restore(driver, snapshot) && verifier.test(driver)) {
+                logger.info("Restored session state for '{}' in {} ms", key,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return true;
+            }
+            logger.warn("Restore failed for '{}', invalidating snapshot and replaying flow", key);
+            invalidate(flowName);
+        }
+
+        setupFlow.run();
+        store(key, capture(driver));
+        return false;
+    }
+
+    /**
+     * Capture cookies and web storage of the current page
+     */
+    public static Snapshot capture(WebDriver driver) {
+        Snapshot snapshot = new Snapshot();
+        snapshot.url = driver.getCurrentUrl();
+        snapshot.createdAt = System.currentTimeMillis();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            snapshot.cookies.add(cookieToMap(cookie));
+        }
+        snapshot.localStorage = readStorage(driver, "localStorage");
+        snapshot.sessionStorage = readStorage(driver, "sessionStorage");
+        logger.debug("Captured {} cookies from {}", snapshot.cookies.size(), snapshot.url);
+        return snapshot;
+    }
+
+    /**
+     * Apply a snapshot to the browser and reload the page it was captured on
+     */
+    public static boolean restore(WebDriver driver, Snapshot snapshot) {
+        try {
+            driver.get(snapshot.url);
+            driver.manage().deleteAllCookies();
+            for (Map<String, Object> cookie : snapshot.cookies) {
+                try {
+                    driver.manage().addCookie(mapToCookie(cookie));
+                } catch (Exception e) {
+                    logger.debug("Skipped cookie {}: {}", cookie.get("name"), e.getMessage());
+                }
+            }
+            writeStorage(driver, "localStorage", snapshot.localStorage);
+            writeStorage(driver, "sessionStorage", snapshot.sessionStorage);
+            driver.navigate().refresh();
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to restore session state: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Drop the cached state for a flow in the current environment
+     */
+    public static void invalidate(String flowName) {
+        String key = cacheKey(flowName);
+        snapshots.remove(key);
+        try {
+            Files.deleteIfExists(snapshotFile(key));
+        } catch (IOException e) {
+            logger.warn("Failed to delete snapshot file for '{}': {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all in-memory snapshots
+     */
+    public static void clear() {
+        snapshots.clear();
+    }
+
+    private static String cacheKey(String flowName) {
+        return flowName + "@" + ConfigReader.getEnvironment();
+    }
+
+    private static Snapshot lookup(String key) {
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            snapshot = load(key);
+        }
+        if (snapshot == null) {
+            return null;
+        }
+        long ttl = TimeUnit.MINUTES.toMillis(ConfigReader.getSessionCacheTtlMinutes());
+        if (System.currentTimeMillis() - snapshot.createdAt > ttl) {
+            logger.info("Session state for '{}' expired", key);
+            snapshots.remove(key);
+            return null;
+        }
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+
+    private static void store(String key, Snapshot snapshot) {
+        snapshots.put(key, snapshot);
+        try {
+            Path file = snapshotFile(key);
+            writeOwnerOnly(file, JSON.toJson(snapshot.toMap()).getBytes(StandardCharsets.UTF_8));
+            logger.info("Cached session state for '{}'", key);
+        } catch (IOException e) {
+            logger.warn("Failed to persist session state for '{}': {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Write a snapshot readable by the current user only, as it holds login cookies in plain text.
+     * The file is created with these permissions, so it is never readable by others in between.
+     */
+    private static void writeOwnerOnly(Path file, byte[] content) throws IOException {
+        Path dir = file.getParent();
+        if (!Files.exists(dir)) {
+            try {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIR));
+            } catch (UnsupportedOperationException e) {
+                Files.createDirectories(dir);
+            }
+        }
+        Files.deleteIfExists(file);
+        try {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        } catch (UnsupportedOperationException e) {
+            logger.debug("File permissions not supported, {} keeps the default permissions", file);
+        }
+        Files.write(file, content);
+    }
+
+    private static Snapshot load(String key) {
+        Path file = snapshotFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            return Snapshot.fromMap(JSON.toType(content, Json.MAP_TYPE));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable snapshot file {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Path snapshotFile(String key) {
+        return Paths.get(ConfigReader.getSessionCacheDir(), key.replaceAll("[^A-Za-z0-9._@-]", "_") + ".json");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(WebDriver driver, String storage) {
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT, storage);
+        Map<String, String> values = new LinkedHashMap<>();
+        if (result instanceof Map) {
+            ((Map<String, Object>) result).forEach((k, v) -> values.put(k, String.valueOf(v)));
+        }
+        return values;
+    }
+
+    private static void writeStorage(WebDriver driver, String storage, Map<String, String> values) {
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, storage, values);
+    }
+
+    private static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            map.put("expiry", cookie.getExpiry().getTime());
+        }
+        if (cookie.getSameSite() != null) {
+            map.put("sameSite", cookie.getSameSite());
+        }
+        return map;
+    }
+
+    private static Cookie mapToCookie(Map<String, Object> map) {
+        Cookie.Builder builder = new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+                .domain((String) map.get("domain"))
+                .path((String) map.get("path"))
+                .isSecure(Boolean.TRUE.equals(map.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")));
+        if (map.get("expiry") instanceof Number) {
+            builder.expiresOn(new Date(((Number) map.get("expiry")).longValue()));
+        }
+        if (map.get("sameSite") != null) {
+            builder.sameSite((String) map.get("sameSite"));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Browser state captured after a setup flow
+     */
+    public static class Snapshot {
+        private String url;
+        private long createdAt;
+        private List<Map<String, Object>> cookies = new ArrayList<>();
+        private Map<String, String> localStorage = new HashMap<>();
+        private Map<String, String> sessionStorage = new HashMap<>();
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("url", url);
+            map.put("createdAt", createdAt);
+            map.put("cookies", cookies);
+            map.put("localStorage", localStorage);
+            map.put("sessionStorage", sessionStorage);
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Snapshot fromMap(Map<String, Object> map) {
+            Snapshot snapshot = new Snapshot();
+            snapshot.url = (String) map.get("url");
+            snapshot.createdAt = ((Number) map.get("createdAt")).longValue();
+            snapshot.cookies = (List<Map<String, Object>>) map.get("cookies");
+            snapshot.localStorage = (Map<String, String>) map.get("localStorage");
+            snapshot.sessionStorage = (Map<String, String>) map.get("sessionStorage");
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Records which page-object classes, methods, @FindBy fields and data files each test
+ * touches, and persists the mapping as an impact map for TestImpactSelector
+ */
+public class TestImpactRecorder {
+    private static final Logger logger = LogManager.getLogger(TestImpactRecorder.class);
+
+    static final String CLASSES = "classes";
+    static final String METHODS = "methods";
+    static final String FIELDS = "fields";
+    static final String DATA = "data";
+    static final String DURATION = "durationMs";
+
+    private static final ThreadLocal<Usage> usages = ThreadLocal.withInitial(Usage::new);
+    private static final Map<String, Usage> recorded = new TreeMap<>();
+
+    /**
+     * Start recording for the current thread's test unless recording is already active
+     */
+    public static void begin() {
+        if (!ConfigReader.isImpactRecordingEnabled()) {
+            return;
+        }
+        Usage usage = usages.get();
+        if (!usage.active) {
+            usage.clear();
+            usage.active = true;
+        }
+    }
+
+    /**
+     * Check if the current thread is recording, so callers can skip costly lookups
+     */
+    public static boolean isRecording() {
+        return usages.get().active;
+    }
+
+    /**
+     * Record that a page-object class was used
+     */
+    public static void recordClass(Class<?> type) {
+        Usage usage = usages.get();
+        if (usage.active) {
+            usage.classes.add(type.getName());
+        }
+    }
+
+    /**
+     * Record that a page-object method was called
+     */
+    public static void recordMethod(Class<?> type, String method) {
+        Usage usage = usages.get();
+        if (usage.active) {
+            usage.classes.add(type.getName());
+            usage.methods.add(type.getName() + "#" + method);
+        }
+    }
+
+    /**
+     * Record that a @FindBy field was accessed
+     */
+    public static void recordField(Class<?> type, String field) {
+        Usage usage = usages.get();
+        if (usage.active) {
+            usage.fields.add(type.getName() + "#" + field);
+        }
+    }
+
+    /**
+     * Record that a test data file was read
+     */
+    public static void recordData(String source) {
+        Usage usage = usages.get();
+        if (usage.active) {
+            usage.data.add(source);
+        }
+    }
+
+    /**
+     * Stop recording and merge the current thread's usage into the test's entry;
+     * data-driven tests accumulate usage and duration over all their invocations
+     */
+    public static void end(String testId, long durationMs) {
+        Usage usage = usages.get();
+        if (!usage.active) {
+            return;
+        }
+        usage.active = false;
+        usage.durationMs = durationMs;
+        synchronized (recorded) {
+            recorded.computeIfAbsent(testId, id -> new Usage()).merge(usage);
+        }
+        usage.clear();
+    }
+
+    /**
+     * Stop recording and drop the current thread's usage. Used for failed and skipped
+     * invocations, whose usage may be incomplete; their previous entry is kept instead.
+     */
+    public static void discard() {
+        Usage usage = usages.get();
+        usage.active = false;
+        usage.clear();
+    }
+
+    /**
+     * Write the recorded tests to the impact map, keeping entries of tests not run this time
+     */
+    public static void save() {
+        Map<String, Map<String, Object>> map = load(Paths.get(ConfigReader.getImpactMapFile()));
+        synchronized (recorded) {
+            if (recorded.isEmpty()) {
+                return;
+            }
+            recorded.forEach((test, usage) -> map.put(test, usage.toMap()));
+        }
+        Map<String, Object> file = new LinkedHashMap<>();
+        file.put("updatedAt", System.currentTimeMillis());
+        file.put("tests", map);
+        try {
+            Path path = Paths.get(ConfigReader.getImpactMapFile());
+            JsonUtility.write(path, file);
+            logger.info("Impact map for {} tests written to {}", map.size(), path);
+        } catch (IOException e) {
+            logger.error("Failed to write impact map: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Load an impact map, keyed by test ID
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Map<String, Object>> load(Path file) {
+        Map<String, Map<String, Object>> map = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return map;
+        }
+        try {
+            Object tests = JsonUtility.readMap(file).get("tests");
+            if (tests instanceof Map) {
+                map.putAll((Map<String, Map<String, Object>>) tests);
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable impact map {}: {}", file, e.getMessage());
+        }
+        return map;
+    }
+
+    /**
+     * Page-object usage of one test
+     */
+    private static class Usage {
+        private final Set<String> classes = new TreeSet<>();
+        private final Set<String> methods = new TreeSet<>();
+        private final Set<String> fields = new TreeSet<>();
+        private final Set<String> data = new TreeSet<>();
+        private long durationMs;
+        private boolean active;
+
+        void merge(Usage other) {
+            classes.addAll(other.classes);
+            methods.addAll(other.methods);
+            fields.addAll(other.fields);
+            data.addAll(other.data);
+            durationMs += other.durationMs;
+        }
+
+        void clear() {
+            classes.clear();
+            methods.clear();
+            fields.clear();
+            data.clear();
+            durationMs = 0;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put(CLASSES, new ArrayList<>(classes));
+            map.put(METHODS, new ArrayList<>(methods));
+            map.put(FIELDS, new ArrayList<>(fields));
+            map.put(DATA, new ArrayList<>(data));
+            map.put(DURATION, durationMs);
+            return map;
+        }
+    }
+}
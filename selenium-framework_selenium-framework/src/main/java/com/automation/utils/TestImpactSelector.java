@@ -0,0 +1,236 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the tests affected by a set of changed files using the recorded impact map.
+ * A test is kept if its own class, a page-object class or a data file it used changed,
+ * if it is in the safety set, or if the map has no entry for it yet. Changes to shared
+ * framework paths select every test.
+ */
+public class TestImpactSelector {
+    private static final Logger logger = LogManager.getLogger(TestImpactSelector.class);
+
+    private static List<String> changedFiles;
+    private static int totalTests;
+    private static int skippedTests;
+    private static long savedMs;
+
+    /**
+     * Select affected tests from the configured impact map and changed files
+     */
+    public static synchronized Set<String> select(Collection<String> testIds) {
+        Selection selection = select(testIds,
+                TestImpactRecorder.load(Paths.get(ConfigReader.getImpactMapFile())), getChangedFiles());
+        totalTests += selection.total;
+        skippedTests += selection.skipped;
+        savedMs += selection.savedMs;
+        logger.info("Test impact: {}", selection);
+        return selection.selected;
+    }
+
+    /**
+     * Select affected tests for a given impact map and changed file list
+     */
+    public static Selection select(Collection<String> testIds, Map<String, Map<String, Object>> impactMap,
+                                   List<String> changed) {
+        if (changed == null) {
+            return new Selection(testIds, testIds, impactMap, "changed files unknown, running all tests");
+        }
+        for (String file : changed) {
+            for (String path : splitList(ConfigReader.getImpactRunAllPaths())) {
+                if (file.startsWith(path) || file.contains("/" + path)) {
+                    return new Selection(testIds, testIds, impactMap, file + " is shared, running all tests");
+                }
+            }
+        }
+
+        List<String> safety = splitList(ConfigReader.getImpactSafetyTests());
+        Set<String> selected = new LinkedHashSet<>();
+        for (String test : testIds) {
+            Map<String, Object> impact = impactMap.get(test);
+            if (impact == null || isInSafetySet(test, safety) || isAffected(test, impact, changed)) {
+                selected.add(test);
+            }
+        }
+        return new Selection(testIds, selected, impactMap, changed.size() + " changed files");
+    }
+
+    /**
+     * Get the changed files from impact.changed.files, or from git: files changed since the base
+     * ref (committed or not) plus untracked files. Returns null if the list cannot be determined.
+     */
+    public static synchronized List<String> getChangedFiles() {
+        if (changedFiles != null) {
+            return changedFiles;
+        }
+        String listFile = ConfigReader.getImpactChangedFiles();
+        try {
+            List<String> lines;
+            if (!listFile.isEmpty()) {
+                lines = Files.readAllLines(Paths.get(listFile), StandardCharsets.UTF_8);
+            } else {
+                String baseRef = getBaseRef();
+                lines = new ArrayList<>(git("diff", "--name-only", baseRef));
+                lines.addAll(git("ls-files", "--others", "--exclude-standard", "--full-name"));
+                logger.info("Changed files are diffed against {}", baseRef);
+            }
+            changedFiles = lines.stream()
+                    .map(line -> line.trim().replace('\\', '/'))
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toList());
+            logger.info("{} changed files detected", changedFiles.size());
+            return changedFiles;
+        } catch (IOException e) {
+            logger.warn("Could not determine changed files: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Summarize all selections made in this run for the report
+     */
+    public static synchronized String getSummary() {
+        return String.format("ran %d of %d tests, skipped %d, saved ~%d s", totalTests - skippedTests,
+                totalTests, skippedTests, TimeUnit.MILLISECONDS.toSeconds(savedMs));
+    }
+
+    private static boolean isInSafetySet(String test, List<String> safety) {
+        return safety.stream().anyMatch(entry -> test.equals(entry) || test.startsWith(entry + "."));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isAffected(String test, Map<String, Object> impact, List<String> changed) {
+        Set<String> sources = new LinkedHashSet<>();
+        sources.add(sourcePath(test.substring(0, test.lastIndexOf('.'))));
+        for (Object type : (List<Object>) impact.getOrDefault(TestImpactRecorder.CLASSES, List.of())) {
+            sources.add(sourcePath(String.valueOf(type)));
+        }
+        for (Object data : (List<Object>) impact.getOrDefault(TestImpactRecorder.DATA, List.of())) {
+            sources.add(String.valueOf(data));
+        }
+        return changed.stream().anyMatch(file -> sources.stream()
+                .anyMatch(source -> file.equals(source) || file.endsWith("/" + source)));
+    }
+
+    private static String sourcePath(String className) {
+        int nested = className.indexOf('$');
+        String outer = nested < 0 ? className : className.substring(0, nested);
+        return outer.replace('.', '/') + ".java";
+    }
+
+    /**
+     * Get impact.base.ref, or by default the merge-base with impact.main.branch, so the commits
+     * of a branch count as changed and not only uncommitted edits. On the main branch itself,
+     * or without one, the last commit is used.
+     */
+    private static String getBaseRef() throws IOException {
+        String configured = ConfigReader.getImpactBaseRef();
+        if (!configured.isEmpty()) {
+            return configured;
+        }
+        String head = git("rev-parse", "HEAD").get(0).trim();
+        String branch = ConfigReader.getImpactMainBranch();
+        for (String candidate : List.of("origin/" + branch, branch)) {
+            try {
+                String mergeBase = git("merge-base", "HEAD", candidate).get(0).trim();
+                if (!mergeBase.equals(head)) {
+                    return mergeBase;
+                }
+            } catch (IOException e) {
+                logger.debug("No merge-base with {}: {}", candidate, e.getMessage());
+            }
+        }
+        return "HEAD~1";
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + " failed: " + String.join(" ", lines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running git", e);
+        }
+        return lines;
+    }
+
+    private static List<String> splitList(String value) {
+        return value.isEmpty() ? List.of() : Arrays.asList(value.trim().split("\\s*,\\s*"));
+    }
+
+    /**
+     * Result of selecting affected tests from a set of candidates
+     */
+    public static class Selection {
+        private final Set<String> selected;
+        private final int total;
+        private final int skipped;
+        private final long savedMs;
+        private final String reason;
+
+        Selection(Collection<String> candidates, Collection<String> selected,
+                  Map<String, Map<String, Object>> impactMap, String reason) {
+            this.selected = new LinkedHashSet<>(selected);
+            this.total = candidates.size();
+            this.skipped = total - this.selected.size();
+            this.savedMs = candidates.stream()
+                    .filter(test -> !this.selected.contains(test))
+                    .map(impactMap::get)
+                    .filter(impact -> impact != null && impact.get(TestImpactRecorder.DURATION) instanceof Number)
+                    .mapToLong(impact -> ((Number) impact.get(TestImpactRecorder.DURATION)).longValue())
+                    .sum();
+            this.reason = reason;
+        }
+
+        public Set<String> getSelected() {
+            return selected;
+        }
+
+        public int getSkipped() {
+            return skipped;
+        }
+
+        public long getSavedMs() {
+            return savedMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("running %d of %d tests, skipped %d, saved ~%d s (%s)", selected.size(), total,
+                    skipped, TimeUnit.MILLISECONDS.toSeconds(savedMs), reason);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Per-thread bounded ring buffer of log events for the running test. The buffer is
+ * discarded when a test passes and drained into the report when it fails, so full
+ * detail logs are only formatted and written for failures.
+ */
+public class TestLogBuffer {
+    private static final PatternLayout LAYOUT = PatternLayout.newBuilder()
+            .withPattern("%d{HH:mm:ss.SSS} %-5level %logger{1} - %msg%n%throwable")
+            .build();
+    private static final ThreadLocal<Ring> buffers = new ThreadLocal<>();
+
+    /**
+     * Start capturing events on the current thread unless capture is already active
+     */
+    public static void begin() {
+        if (!ConfigReader.isLogBufferEnabled()) {
+            return;
+        }
+        Ring ring = buffers.get();
+        if (ring == null) {
+            ring = new Ring(ConfigReader.getLogBufferSize());
+            buffers.set(ring);
+        }
+        if (!ring.active) {
+            ring.clear();
+            ring.active = true;
+        }
+    }
+
+    /**
+     * Record an event if capture is active on the current thread
+     */
+    static void capture(LogEvent event) {
+        Ring ring = buffers.get();
+        if (ring != null && ring.active) {
+            ring.add(event.toImmutable());
+        }
+    }
+
+    /**
+     * Stop capturing and drop the buffered events
+     */
+    public static void discard() {
+        Ring ring = buffers.get();
+        if (ring != null) {
+            ring.clear();
+            ring.active = false;
+        }
+    }
+
+    /**
+     * Stop capturing and return the buffered events formatted as text
+     */
+    public static String drain() {
+        Ring ring = buffers.get();
+        if (ring == null || ring.size == 0) {
+            discard();
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        if (ring.dropped > 0) {
+            text.append("... ").append(ring.dropped).append(" earlier events dropped ...\n");
+        }
+        int start = (ring.next - ring.size + ring.events.length) % ring.events.length;
+        for (int i = 0; i < ring.size; i++) {
+            text.append(LAYOUT.toSerializable(ring.events[(start + i) % ring.events.length]));
+        }
+        discard();
+        return text.toString();
+    }
+
+    /**
+     * Write drained log text to a per-test file under the configured failure log directory
+     */
+    public static Path writeToFile(String testId, String text) throws IOException {
+        Path file = Paths.get(ConfigReader.getLogBufferFailureDir(),
+                testId.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + System.currentTimeMillis() + ".log");
+        Files.createDirectories(file.getParent());
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * Fixed-capacity circular array that overwrites the oldest events
+     */
+    private static class Ring {
+        private final LogEvent[] events;
+        private int next;
+        private int size;
+        private long dropped;
+        private boolean active;
+
+        Ring(int capacity) {
+            events = new LogEvent[Math.max(1, capacity)];
+        }
+
+        void add(LogEvent event) {
+            events[next] = event;
+            next = (next + 1) % events.length;
+            if (size < events.length) {
+                size++;
+            } else {
+                dropped++;
+            }
+        }
+
+        void clear() {
+            Arrays.fill(events, null);
+            next = 0;
+            size = 0;
+            dropped = 0;
+        }
+    }
+}
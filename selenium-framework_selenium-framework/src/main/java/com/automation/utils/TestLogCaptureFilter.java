@@ -0,0 +1,35 @@
+package com.automation.utils;
+
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+/**
+ * Log4j2 filter that copies events into the calling thread's TestLogBuffer without
+ * affecting whether they are logged. Logger-level filters run on the calling thread
+ * before events are handed to the async ring buffer, so capture stays per test thread.
+ */
+@Plugin(name = "TestLogCapture", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class TestLogCaptureFilter extends AbstractFilter {
+
+    private TestLogCaptureFilter() {
+        super(Result.NEUTRAL, Result.NEUTRAL);
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        TestLogBuffer.capture(event);
+        return Result.NEUTRAL;
+    }
+
+    /**
+     * Create the filter from log4j2.xml
+     */
+    @PluginFactory
+    public static TestLogCaptureFilter createFilter() {
+        return new TestLogCaptureFilter();
+    }
+}
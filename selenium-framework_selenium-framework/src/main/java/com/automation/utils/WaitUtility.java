@@ -24,7 +24,7 @@ public class WaitUtility {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
             return wait.until(ExpectedConditions.visibilityOf(element));
         } catch (Exception e) {
-            logger.error("Element not visible within " + timeoutInSeconds + " seconds");
+            logger.error("Element not visible within {} seconds", timeoutInSeconds);
             throw e;
         }
     }
@@ -37,7 +37,7 @@ public class WaitUtility {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
             return wait.until(ExpectedConditions.elementToBeClickable(element));
         } catch (Exception e) {
-            logger.error("Element not clickable within " + timeoutInSeconds + " seconds");
+            logger.error("Element not clickable within {} seconds", timeoutInSeconds);
             throw e;
         }
     }
@@ -50,7 +50,7 @@ public class WaitUtility {
             WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
             return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
         } catch (Exception e) {
-            logger.error("Element not present within " + timeoutInSeconds + " seconds");
+            logger.error("Element not present within {} seconds", timeoutInSeconds);
             throw e;
         }
     }
@@ -64,7 +64,7 @@ public class WaitUtility {
             wait.until(ExpectedConditions.alertIsPresent());
             logger.info("Alert is present");
         } catch (Exception e) {
-            logger.error("Alert not present within " + timeoutInSeconds + " seconds");
+            logger.error("Alert not present within {} seconds", timeoutInSeconds);
             throw e;
         }
     }
@@ -76,7 +76,7 @@ public class WaitUtility {
         try {
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
-            logger.error("Sleep interrupted: " + e.getMessage());
+            logger.error("Sleep interrupted: {}", e.getMessage());
         }
     }
 }
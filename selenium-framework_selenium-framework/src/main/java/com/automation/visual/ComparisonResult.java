@@ -0,0 +1,70 @@
+package com.automation.visual;
+
+/**
+ * Outcome of comparing a screenshot with its baseline
+ */
+public class ComparisonResult {
+    private final boolean match;
+    private final long diffPixels;
+    private final long comparedPixels;
+    private final int hashDistance;
+    private final boolean earlyExit;
+    private final String reason;
+    private final long durationNanos;
+
+    ComparisonResult(boolean match, long diffPixels, long comparedPixels, int hashDistance,
+                     boolean earlyExit, String reason, long durationNanos) {
+        this.match = match;
+        this.diffPixels = diffPixels;
+        this.comparedPixels = comparedPixels;
+        this.hashDistance = hashDistance;
+        this.earlyExit = earlyExit;
+        this.reason = reason;
+        this.durationNanos = durationNanos;
+    }
+
+    public boolean isMatch() {
+        return match;
+    }
+
+    /**
+     * Number of differing pixels; a lower bound if the comparison exited early
+     */
+    public long getDiffPixels() {
+        return diffPixels;
+    }
+
+    public long getComparedPixels() {
+        return comparedPixels;
+    }
+
+    public double getDiffRatio() {
+        return comparedPixels == 0 ? 0 : (double) diffPixels / comparedPixels;
+    }
+
+    /**
+     * Hamming distance between the perceptual hashes of both images (0-64), or -1 if not computed
+     */
+    public int getHashDistance() {
+        return hashDistance;
+    }
+
+    public boolean isEarlyExit() {
+        return earlyExit;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d differing pixels (%.3f%%)%s, hash distance %d, %.1f ms - %s",
+                match ? "match" : "mismatch", diffPixels, getDiffRatio() * 100, earlyExit ? " or more" : "",
+                hashDistance, durationNanos / 1_000_000.0, reason);
+    }
+}
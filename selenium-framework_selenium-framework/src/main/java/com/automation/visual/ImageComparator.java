@@ -0,0 +1,349 @@
+package com.automation.visual;
+
+import com.automation.utils.ConfigReader;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares screenshots held as packed RGB int arrays. Images are first pre-screened with a
+ * 64-bit difference hash that ignores changes within the pixel tolerance; images that pass
+ * are compared in parallel tiles, skipping equal runs of pixels with Arrays.mismatch, and the
+ * comparison stops as soon as enough pixels differ to call the images clearly different.
+ */
+public class ImageComparator {
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+    private static final int HASH_SAMPLES = 8;
+    private static final int DIFF_COLOR = 0xFFFF0000;
+    private static final int IGNORED_COLOR = 0xFF4080FF;
+    private static ForkJoinPool pool;
+
+    private final int tolerance;
+    private final double maxDiffRatio;
+    private final double earlyExitRatio;
+    private final int maxHashDistance;
+    private final int tileSize;
+
+    /**
+     * @param tolerance       maximum per-channel difference (0-255) for pixels to count as equal
+     * @param maxDiffRatio    fraction of differing pixels still accepted as a match
+     * @param earlyExitRatio  fraction of differing pixels at which comparison stops
+     * @param maxHashDistance perceptual hash distance (0-64) above which images are rejected
+     *                        without a pixel comparison, or -1 to skip the pre-screen
+     * @param tileSize        edge length of the square tiles compared in parallel
+     */
+    public ImageComparator(int tolerance, double maxDiffRatio, double earlyExitRatio, int maxHashDistance,
+                           int tileSize) {
+        this.tolerance = tolerance;
+        this.maxDiffRatio = maxDiffRatio;
+        this.earlyExitRatio = Math.max(earlyExitRatio, maxDiffRatio);
+        this.maxHashDistance = maxHashDistance;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Create a comparator with the visual.* settings from config.properties
+     */
+    public static ImageComparator fromConfig() {
+        return new ImageComparator(ConfigReader.getVisualPixelTolerance(), ConfigReader.getVisualMaxDiffRatio(),
+                ConfigReader.getVisualEarlyExitRatio(), ConfigReader.getVisualHashMaxDistance(),
+                ConfigReader.getVisualTileSize());
+    }
+
+    /**
+     * Compare two images of the same size given as packed RGB pixels in row-major order
+     */
+    public ComparisonResult compare(int[] expected, int[] actual, int width, int height, List<Rectangle> ignore) {
+        long start = System.nanoTime();
+        if (expected.length != actual.length || expected.length != width * height) {
+            return new ComparisonResult(false, Math.max(expected.length, actual.length), width * (long) height, -1,
+                    false, "image sizes differ", System.nanoTime() - start);
+        }
+        List<Rectangle> regions = clip(ignore, width, height);
+        long compared = width * (long) height - ignoredPixels(regions);
+
+        int distance = -1;
+        if (maxHashDistance >= 0) {
+            distance = hashDistance(expected, actual, width, height, regions, tolerance);
+            if (distance > maxHashDistance) {
+                return new ComparisonResult(false, 0, compared, distance, true,
+                        "perceptual hash distance " + distance + " > " + maxHashDistance, System.nanoTime() - start);
+            }
+        }
+
+        long abortAt = (long) Math.ceil(compared * earlyExitRatio) + 1;
+        AtomicLong diffs = new AtomicLong();
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<Callable<Void>> tiles = new ArrayList<>();
+        for (int y = 0; y < height; y += tileSize) {
+            for (int x = 0; x < width; x += tileSize) {
+                Rectangle tile = new Rectangle(x, y, Math.min(tileSize, width - x), Math.min(tileSize, height - y));
+                if (regions.stream().noneMatch(region -> region.contains(tile))) {
+                    tiles.add(() -> {
+                        compareTile(expected, actual, width, tile, regions, diffs, abortAt, aborted);
+                        return null;
+                    });
+                }
+            }
+        }
+        runAll(tiles);
+
+        long diffPixels = diffs.get();
+        boolean match = !aborted.get() && diffPixels <= compared * maxDiffRatio;
+        String reason;
+        if (aborted.get()) {
+            reason = "more than " + earlyExitRatio * 100 + "% of pixels differ";
+        } else {
+            reason = (match ? "within " : "exceeds ") + maxDiffRatio * 100 + "% threshold";
+        }
+        return new ComparisonResult(match, diffPixels, compared, distance, aborted.get(), reason,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Compare two decoded images
+     */
+    public ComparisonResult compare(BufferedImage expected, BufferedImage actual, List<Rectangle> ignore) {
+        if (expected.getWidth() != actual.getWidth() || expected.getHeight() != actual.getHeight()) {
+            return new ComparisonResult(false, (long) actual.getWidth() * actual.getHeight(),
+                    (long) actual.getWidth() * actual.getHeight(), -1, false,
+                    String.format("image sizes differ: %dx%d vs %dx%d", expected.getWidth(), expected.getHeight(),
+                            actual.getWidth(), actual.getHeight()), 0);
+        }
+        return compare(toPixels(expected), toPixels(actual), expected.getWidth(), expected.getHeight(), ignore);
+    }
+
+    /**
+     * Render a diff image: the actual screenshot faded to grey with differing pixels in red and
+     * ignored regions tinted blue. Unlike compare, this always scans every pixel.
+     */
+    public BufferedImage renderDiff(BufferedImage expected, BufferedImage actual, List<Rectangle> ignore) {
+        int width = Math.min(expected.getWidth(), actual.getWidth());
+        int height = Math.min(expected.getHeight(), actual.getHeight());
+        int[] before = toPixels(crop(expected, width, height));
+        int[] after = toPixels(crop(actual, width, height));
+        List<Rectangle> regions = clip(ignore, width, height);
+        BufferedImage diff = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int[] out = ((DataBufferInt) diff.getRaster().getDataBuffer()).getData();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = y * width + x;
+                if (isIgnored(regions, x, y)) {
+                    out[i] = IGNORED_COLOR;
+                } else if (differs(before[i], after[i])) {
+                    out[i] = DIFF_COLOR;
+                } else {
+                    int grey = 192 + luminance(after[i]) / 4;
+                    out[i] = 0xFF000000 | grey << 16 | grey << 8 | grey;
+                }
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Distance between the 64-bit difference hashes of two images: the number of neighbouring
+     * cell pairs of a 9x8 grid where one image is brighter on the left and the other on the
+     * right, each by more than the tolerance. Pixels within the tolerance can never reverse a
+     * pair, so the distance only grows with changes the pixel comparison would also count.
+     */
+    public static int hashDistance(int[] expected, int[] actual, int width, int height, List<Rectangle> ignore,
+                                   int tolerance) {
+        int[] before = cellLuminance(expected, width, height, ignore);
+        int[] after = cellLuminance(actual, width, height, ignore);
+        int distance = 0;
+        for (int cy = 0; cy < HASH_HEIGHT; cy++) {
+            for (int cx = 0; cx < HASH_WIDTH - 1; cx++) {
+                int i = cy * HASH_WIDTH + cx;
+                int expectedStep = before[i] - before[i + 1];
+                int actualStep = after[i] - after[i + 1];
+                if (expectedStep > tolerance && actualStep < -tolerance
+                        || expectedStep < -tolerance && actualStep > tolerance) {
+                    distance++;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Average brightness of each cell of a 9x8 grid over a sparse sample grid, skipping ignored regions
+     */
+    private static int[] cellLuminance(int[] pixels, int width, int height, List<Rectangle> ignore) {
+        int[] cells = new int[HASH_WIDTH * HASH_HEIGHT];
+        for (int cy = 0; cy < HASH_HEIGHT; cy++) {
+            for (int cx = 0; cx < HASH_WIDTH; cx++) {
+                int x0 = cx * width / HASH_WIDTH;
+                int x1 = (cx + 1) * width / HASH_WIDTH;
+                int y0 = cy * height / HASH_HEIGHT;
+                int y1 = (cy + 1) * height / HASH_HEIGHT;
+                long sum = 0;
+                int count = 0;
+                for (int sy = 0; sy < HASH_SAMPLES; sy++) {
+                    int y = y0 + (y1 - y0) * (2 * sy + 1) / (2 * HASH_SAMPLES);
+                    for (int sx = 0; sx < HASH_SAMPLES; sx++) {
+                        int x = x0 + (x1 - x0) * (2 * sx + 1) / (2 * HASH_SAMPLES);
+                        if (y < height && x < width && !isIgnored(ignore, x, y)) {
+                            sum += luminance(pixels[y * width + x]);
+                            count++;
+                        }
+                    }
+                }
+                cells[cy * HASH_WIDTH + cx] = count == 0 ? 0 : (int) (sum / count);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Get the packed RGB pixels of an image, converting it to TYPE_INT_RGB if needed
+     */
+    public static int[] toPixels(BufferedImage image) {
+        boolean packed = image.getType() == BufferedImage.TYPE_INT_RGB
+                || image.getType() == BufferedImage.TYPE_INT_ARGB;
+        // Sub-images share a larger buffer with their parent, so they are copied as well
+        if (packed && image.getRaster().getDataBuffer().getSize() == image.getWidth() * image.getHeight()) {
+            return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.createGraphics().drawImage(image, 0, 0, null);
+        return ((DataBufferInt) rgb.getRaster().getDataBuffer()).getData();
+    }
+
+    private void compareTile(int[] expected, int[] actual, int width, Rectangle tile, List<Rectangle> ignore,
+                             AtomicLong diffs, long abortAt, AtomicBoolean aborted) {
+        List<Rectangle> tileIgnore = new ArrayList<>();
+        for (Rectangle region : ignore) {
+            if (region.intersects(tile)) {
+                tileIgnore.add(region);
+            }
+        }
+        for (int y = tile.y; y < tile.y + tile.height; y++) {
+            if (aborted.get()) {
+                return;
+            }
+            int from = y * width + tile.x;
+            int to = from + tile.width;
+            long rowDiffs = 0;
+            while (from < to) {
+                int offset = Arrays.mismatch(expected, from, to, actual, from, to);
+                if (offset < 0) {
+                    break;
+                }
+                int i = from + offset;
+                if (differs(expected[i], actual[i]) && !isIgnored(tileIgnore, i % width, y)) {
+                    rowDiffs++;
+                }
+                from = i + 1;
+            }
+            if (rowDiffs > 0 && diffs.addAndGet(rowDiffs) >= abortAt) {
+                aborted.set(true);
+            }
+        }
+    }
+
+    private boolean differs(int a, int b) {
+        if (((a ^ b) & 0xFFFFFF) == 0) {
+            return false;
+        }
+        return Math.abs((a >> 16 & 0xFF) - (b >> 16 & 0xFF)) > tolerance
+                || Math.abs((a >> 8 & 0xFF) - (b >> 8 & 0xFF)) > tolerance
+                || Math.abs((a & 0xFF) - (b & 0xFF)) > tolerance;
+    }
+
+    private static int luminance(int rgb) {
+        return ((rgb >> 16 & 0xFF) * 299 + (rgb >> 8 & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+    }
+
+    private static boolean isIgnored(List<Rectangle> ignore, int x, int y) {
+        for (Rectangle region : ignore) {
+            if (region.contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Rectangle> clip(List<Rectangle> ignore, int width, int height) {
+        if (ignore == null || ignore.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Rectangle bounds = new Rectangle(0, 0, width, height);
+        List<Rectangle> clipped = new ArrayList<>();
+        for (Rectangle region : ignore) {
+            Rectangle visible = region.intersection(bounds);
+            if (!visible.isEmpty()) {
+                clipped.add(visible);
+            }
+        }
+        return clipped;
+    }
+
+    /**
+     * Count ignored pixels, counting overlapping regions once
+     */
+    private static long ignoredPixels(List<Rectangle> regions) {
+        if (regions.isEmpty()) {
+            return 0;
+        }
+        Rectangle union = regions.get(0);
+        for (Rectangle region : regions) {
+            union = union.union(region);
+        }
+        long count = 0;
+        for (int y = union.y; y < union.y + union.height; y++) {
+            for (int x = union.x; x < union.x + union.width; x++) {
+                if (isIgnored(regions, x, y)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static BufferedImage crop(BufferedImage image, int width, int height) {
+        return image.getWidth() == width && image.getHeight() == height
+                ? image : image.getSubimage(0, 0, width, height);
+    }
+
+    private static void runAll(List<Callable<Void>> tiles) {
+        if (tiles.size() == 1) {
+            try {
+                tiles.get(0).call();
+                return;
+            } catch (Exception e) {
+                throw new IllegalStateException("Image comparison failed", e);
+            }
+        }
+        try {
+            for (Future<Void> future : getPool().invokeAll(tiles)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during image comparison", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Image comparison failed", e.getCause());
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            int threads = ConfigReader.getVisualThreads();
+            pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,144 @@
+package com.automation.visual;
+
+import com.automation.base.DriverConfig;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.ExtentReportManager;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compares page screenshots with per-page baselines stored by browser. A missing baseline is
+ * recorded from the current screenshot; on a mismatch the actual and diff images are written
+ * next to each other and the diff is attached to the report.
+ */
+public class VisualBaseline {
+    private static final Logger logger = LogManager.getLogger(VisualBaseline.class);
+    private static final String BOUNDS_SCRIPT = "var r = arguments[0].getBoundingClientRect();"
+            + " return [r.left, r.top, r.width, r.height];";
+
+    /**
+     * Compare the current page with the named baseline, ignoring the areas of the given elements
+     */
+    public static ComparisonResult check(WebDriver driver, String name, Collection<WebElement> ignoreElements) {
+        try {
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+            return check(name, actual, toRegions(driver, ignoreElements));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read screenshot for visual check '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Compare an image with the named baseline, ignoring the given regions (in image pixels)
+     */
+    public static ComparisonResult check(String name, BufferedImage actual, List<Rectangle> ignore)
+            throws IOException {
+        String fileName = name.replaceAll("[^A-Za-z0-9._-]", "_") + ".png";
+        Path baselineFile = Paths.get(ConfigReader.getVisualBaselineDir(), configDir(), fileName);
+
+        if (ConfigReader.isVisualUpdateBaselines() || !Files.exists(baselineFile)) {
+            Files.createDirectories(baselineFile.getParent());
+            ImageIO.write(actual, "png", baselineFile.toFile());
+            logger.info("Recorded visual baseline {}", baselineFile);
+            report(Status.INFO, "Recorded visual baseline " + baselineFile, null);
+            return new ComparisonResult(true, 0, (long) actual.getWidth() * actual.getHeight(), 0, false,
+                    "baseline recorded", 0);
+        }
+
+        BufferedImage expected = ImageIO.read(baselineFile.toFile());
+        ImageComparator comparator = ImageComparator.fromConfig();
+        ComparisonResult result = comparator.compare(expected, actual, ignore);
+        logger.info("Visual check '{}': {}", name, result);
+        if (result.isMatch()) {
+            report(Status.PASS, "Visual check '" + name + "': " + result, null);
+            return result;
+        }
+
+        Path outputDir = Paths.get(ConfigReader.getVisualOutputDir(), configDir());
+        Files.createDirectories(outputDir);
+        BufferedImage diff = comparator.renderDiff(expected, actual, ignore);
+        ImageIO.write(actual, "png", outputDir.resolve(fileName.replace(".png", "-actual.png")).toFile());
+        ImageIO.write(diff, "png", outputDir.resolve(fileName.replace(".png", "-diff.png")).toFile());
+        logger.warn("Visual mismatch for '{}', diff written to {}", name, outputDir);
+        report(Status.FAIL, "Visual check '" + name + "': " + result, diff);
+        return result;
+    }
+
+    /**
+     * Baselines are kept per browser, and per window size when one is configured
+     */
+    private static String configDir() {
+        DriverConfig config = DriverConfig.current();
+        Dimension size = config.getWindowSize();
+        return size == null ? config.getBrowser()
+                : config.getBrowser() + "-" + size.getWidth() + "x" + size.getHeight();
+    }
+
+    /**
+     * Convert element bounds from CSS pixels to screenshot pixels; bounds are taken relative to
+     * the viewport the screenshot shows, and elements that are not present are skipped
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Rectangle> toRegions(WebDriver driver, Collection<WebElement> elements) {
+        List<Rectangle> regions = new ArrayList<>();
+        if (elements.isEmpty()) {
+            return regions;
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Object ratio = js.executeScript("return window.devicePixelRatio;");
+        double scale = ratio instanceof Number ? ((Number) ratio).doubleValue() : 1.0;
+        for (WebElement element : elements) {
+            try {
+                List<Number> bounds = (List<Number>) js.executeScript(BOUNDS_SCRIPT, element);
+                regions.add(new Rectangle((int) Math.floor(bounds.get(0).doubleValue() * scale),
+                        (int) Math.floor(bounds.get(1).doubleValue() * scale),
+                        (int) Math.ceil(bounds.get(2).doubleValue() * scale),
+                        (int) Math.ceil(bounds.get(3).doubleValue() * scale)));
+            } catch (Exception e) {
+                logger.debug("Ignore region element not available: {}", e.getMessage());
+            }
+        }
+        return regions;
+    }
+
+    private static void report(Status status, String message, BufferedImage image) {
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test == null) {
+            return;
+        }
+        test.log(status, message);
+        if (image != null) {
+            try {
+                ByteArrayOutputStream png = new ByteArrayOutputStream();
+                ImageIO.write(image, "png", png);
+                test.addScreenCaptureFromBase64String(Base64.getEncoder().encodeToString(png.toByteArray()),
+                        "Visual Diff");
+            } catch (IOException e) {
+                logger.error("Failed to attach visual diff: {}", e.getMessage());
+            }
+        }
+    }
+}
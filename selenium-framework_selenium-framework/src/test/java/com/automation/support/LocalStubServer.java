@@ -0,0 +1,113 @@
+package com.automation.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP server serving stub pages for framework tests.
+ * Every route accepts a "delay" query parameter (milliseconds) to simulate a slow backend,
+ * and "/asset?kb=N" returns a script of roughly N kilobytes.
+ */
+public class LocalStubServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(LocalStubServer.class);
+
+    public static final String LOGIN_PAGE =
+            "<html><head><title>Stub Login</title></head><body>"
+            + "<form action='/home' method='get'>"
+            + "<input id='email' name='email'/><input id='pass' name='pass' type='password'/>"
+            + "<button name='login' type='submit'>Log in</button>"
+            + "</form></body></html>";
+
+    private final HttpServer server;
+    private final Map<String, String> pages = new HashMap<>();
+
+    public LocalStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        page("/", LOGIN_PAGE);
+        page("/home", "<html><head><title>Stub Home</title></head><body>Welcome</body></html>");
+        server.start();
+        logger.info("Stub server started at {}", getBaseUrl());
+    }
+
+    /**
+     * Register HTML content for a path
+     */
+    public LocalStubServer page(String path, String html) {
+        pages.put(path, html);
+        return this;
+    }
+
+    /**
+     * Get the base URL of the server
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        if (query.containsKey("delay")) {
+            try {
+                Thread.sleep(Long.parseLong(query.get("delay")));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        byte[] body;
+        String contentType = "text/html";
+        if (path.equals("/asset")) {
+            int kb = Integer.parseInt(query.getOrDefault("kb", "1"));
+            StringBuilder script = new StringBuilder("var padding = '");
+            for (int i = 0; i < kb * 1024; i++) {
+                script.append('x');
+            }
+            body = script.append("';").toString().getBytes(StandardCharsets.UTF_8);
+            contentType = "application/javascript";
+        } else if (pages.containsKey(path)) {
+            body = pages.get(path).getBytes(StandardCharsets.UTF_8);
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Timing-Allow-Origin", "*");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int idx = pair.indexOf('=');
+                if (idx > 0) {
+                    params.put(pair.substring(0, idx), pair.substring(idx + 1));
+                }
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,118 @@
+package com.automation.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal Selenium Grid stand-in for framework tests. New session requests fail a configured
+ * number of times, then wait in a "queue" (visible through the GraphQL endpoint) before a
+ * session is returned. The stub tracks how many connections were opened to it.
+ */
+public class StubGridServer implements AutoCloseable {
+    private final HttpServer server;
+    private final int failures;
+    private final long queueMillis;
+    private final AtomicInteger sessionRequests = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile String queued = "";
+    private volatile String lastSessionRequest = "";
+
+    public StubGridServer(int failures, long queueMillis) throws IOException {
+        this.failures = failures;
+        this.queueMillis = queueMillis;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public URL getUrl() {
+        try {
+            return new URL("http://127.0.0.1:" + server.getAddress().getPort());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getSessionRequests() {
+        return sessionRequests.get();
+    }
+
+    public String getLastSessionRequest() {
+        return lastSessionRequest;
+    }
+
+    /**
+     * Get the number of distinct client connections seen, identified by their remote port
+     */
+    public int getConnections() {
+        return clientPorts.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        String request = read(exchange.getRequestBody());
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+
+        if ("POST".equals(method) && path.equals("/session")) {
+            lastSessionRequest = request;
+            if (sessionRequests.incrementAndGet() <= failures) {
+                respond(exchange, 500, "{\"value\": {\"error\": \"session not created\","
+                        + " \"message\": \"No free slots\", \"stacktrace\": \"\"}}");
+                return;
+            }
+            queued = request;
+            sleep(queueMillis);
+            queued = "";
+            sleep(queueMillis / 2);
+            respond(exchange, 200, "{\"value\": {\"sessionId\": \"" + UUID.randomUUID()
+                    + "\", \"capabilities\": {\"browserName\": \"chrome\"}}}");
+        } else if ("POST".equals(method) && path.equals("/graphql")) {
+            String requests = queued.isEmpty() ? "[]"
+                    : "[\"" + queued.replace("\\", "\\\\").replace("\"", "\\\"") + "\"]";
+            respond(exchange, 200, "{\"data\": {\"sessionsInfo\": {\"sessionQueueRequests\": " + requests + "}}}");
+        } else {
+            respond(exchange, 200, "{\"value\": null}");
+        }
+    }
+
+    private static String read(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
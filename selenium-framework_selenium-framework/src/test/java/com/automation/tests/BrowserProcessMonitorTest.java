@@ -0,0 +1,89 @@
+package com.automation.tests;
+
+import com.automation.utils.BrowserProcessMonitor;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for browser process monitoring, using a spawned child process in place of a browser
+ */
+public class BrowserProcessMonitorTest {
+    private Process child;
+
+    @AfterMethod
+    public void tearDown() {
+        System.clearProperty("browser.monitor.max.handles");
+        if (child != null) {
+            child.destroyForcibly();
+        }
+    }
+
+    @Test(description = "Verify a session over a threshold is flagged for recycling without counting a recycle")
+    public void testThresholdDetection() throws IOException {
+        child = new ProcessBuilder("sleep", "60").start();
+        WebDriver driver = fakeDriver(child.pid());
+        BrowserProcessMonitor.track(driver);
+
+        BrowserProcessMonitor.ProcessStats stats = BrowserProcessMonitor.sample(driver);
+        Assert.assertNotNull(stats, "A child process of this JVM should be tracked");
+        Assert.assertEquals(stats.getProcesses(), 1);
+        Assert.assertFalse(BrowserProcessMonitor.needsRecycle(driver));
+
+        System.setProperty("browser.monitor.max.handles", "0");
+        String before = BrowserProcessMonitor.getSummary();
+        Assert.assertTrue(BrowserProcessMonitor.needsRecycle(driver), "Open handles should exceed a zero limit");
+        Assert.assertEquals(BrowserProcessMonitor.getSummary(), before,
+                "Flagging a session must not count as a recycle");
+        BrowserProcessMonitor.release(driver);
+    }
+
+    @Test(description = "Verify releasing a session kills its leftover process tree")
+    public void testReleaseKillsProcessTree() throws Exception {
+        child = new ProcessBuilder("sh", "-c", "sleep 60 & wait").start();
+        WebDriver driver = fakeDriver(child.pid());
+        BrowserProcessMonitor.track(driver);
+        TimeUnit.MILLISECONDS.sleep(200);
+        ProcessHandle grandchild = child.toHandle().children().findFirst().orElseThrow();
+
+        Assert.assertNotNull(BrowserProcessMonitor.release(driver));
+        Assert.assertTrue(child.waitFor(5, TimeUnit.SECONDS), "Root process should be killed");
+        Assert.assertFalse(grandchild.isAlive(), "Descendants should be killed");
+    }
+
+    @Test(description = "Verify a reported pid outside this JVM's process tree is never tracked or killed")
+    public void testForeignPidIsIgnored() {
+        ProcessHandle parent = ProcessHandle.current().parent().orElseThrow();
+        WebDriver driver = fakeDriver(parent.pid());
+        BrowserProcessMonitor.track(driver);
+
+        Assert.assertNull(BrowserProcessMonitor.sample(driver));
+        Assert.assertNull(BrowserProcessMonitor.release(driver));
+        Assert.assertTrue(parent.isAlive());
+    }
+
+    private static WebDriver fakeDriver(long pid) {
+        Capabilities capabilities = new ImmutableCapabilities("browserName", "firefox", "moz:processID", pid);
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, HasCapabilities.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCapabilities":
+                            return capabilities;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.automation.tests;
+
+import com.automation.support.LocalStubServer;
+import com.automation.utils.CircuitBreaker;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * Test class for the preflight health check and the infrastructure circuit breaker
+ */
+public class CircuitBreakerTest {
+    private static final List<String> PROPERTIES = List.of("app.url", "health.check.enabled",
+            "circuit.breaker.failure.threshold", "circuit.breaker.probe.interval.seconds");
+
+    private String deadUrl;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadUrl = "http://127.0.0.1:" + socket.getLocalPort() + "/";
+        }
+        System.setProperty("circuit.breaker.failure.threshold", "3");
+        System.setProperty("circuit.breaker.probe.interval.seconds", "600");
+        CircuitBreaker.reset();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        PROPERTIES.forEach(System::clearProperty);
+        CircuitBreaker.reset();
+    }
+
+    @Test(description = "Verify environment errors are told apart from test failures")
+    public void testClassifiesInfrastructureFailures() {
+        Assert.assertTrue(CircuitBreaker.isInfrastructureFailure(
+                new WebDriverException("driver setup failed", new UnknownHostException("example.invalid"))));
+        Assert.assertTrue(CircuitBreaker.isInfrastructureFailure(new SessionNotCreatedException("no nodes")));
+        Assert.assertTrue(CircuitBreaker.isInfrastructureFailure(
+                new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED\n  (Session info: chrome)")));
+        Assert.assertFalse(CircuitBreaker.isInfrastructureFailure(new NoSuchElementException("#email")));
+        Assert.assertFalse(CircuitBreaker.isInfrastructureFailure(new AssertionError("title mismatch")));
+    }
+
+    @Test(description = "Verify the circuit opens after consecutive infrastructure failures only")
+    public void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker.recordUrl(deadUrl, new ConnectException("Connection refused"));
+        CircuitBreaker.recordUrl(deadUrl, new ConnectException("Connection refused"));
+        CircuitBreaker.recordUrl(deadUrl, null);
+        CircuitBreaker.recordUrl(deadUrl, new ConnectException("Connection refused"));
+        CircuitBreaker.recordUrl(deadUrl, new NoSuchElementException("#email"));
+        CircuitBreaker.checkUrl(deadUrl);
+
+        for (int i = 0; i < 3; i++) {
+            CircuitBreaker.recordUrl(deadUrl, new ConnectException("Connection refused"));
+        }
+        SkipException skip = Assert.expectThrows(SkipException.class, () -> CircuitBreaker.checkUrl(deadUrl));
+        Assert.assertTrue(skip.getMessage().contains("3 consecutive infrastructure failures"), skip.getMessage());
+        Assert.assertTrue(skip.getMessage().contains("Connection refused"), skip.getMessage());
+        CircuitBreaker.checkBrowser("chrome");
+        Assert.assertTrue(CircuitBreaker.getSummary().startsWith("1 circuits opened, 1 tests skipped"),
+                CircuitBreaker.getSummary());
+    }
+
+    @Test(description = "Verify an open circuit is probed and closed once the target answers again")
+    public void testProbeClosesCircuit() {
+        try (LocalStubServer server = new LocalStubServer()) {
+            String url = server.getBaseUrl() + "/";
+            for (int i = 0; i < 3; i++) {
+                CircuitBreaker.recordUrl(url, new ConnectException("Connection refused"));
+            }
+            Assert.assertThrows(SkipException.class, () -> CircuitBreaker.checkUrl(url));
+
+            System.setProperty("circuit.breaker.probe.interval.seconds", "0");
+            CircuitBreaker.checkUrl(url);
+            CircuitBreaker.recordUrl(url, null);
+            CircuitBreaker.checkUrl(url);
+            Assert.assertTrue(CircuitBreaker.getSummary().endsWith("all closed again"), CircuitBreaker.getSummary());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test(description = "Verify an unreachable app opens its circuit before the first test and stays open")
+    public void testPreflightOpensCircuit() {
+        System.setProperty("app.url", deadUrl);
+        System.setProperty("health.check.enabled", "true");
+        CircuitBreaker.preflight(List.of("chrome"));
+
+        SkipException skip = Assert.expectThrows(SkipException.class, () -> CircuitBreaker.checkUrl(deadUrl));
+        Assert.assertTrue(skip.getMessage().contains("health check"), skip.getMessage());
+
+        System.setProperty("circuit.breaker.probe.interval.seconds", "0");
+        skip = Assert.expectThrows(SkipException.class, () -> CircuitBreaker.checkUrl(deadUrl + "login"));
+        Assert.assertTrue(skip.getMessage().contains("probe of"), skip.getMessage());
+    }
+}
@@ -0,0 +1,106 @@
+package com.automation.tests;
+
+import com.automation.base.DriverConfig;
+import com.automation.listeners.MatrixSuiteListener;
+import com.automation.utils.ConfigReader;
+import org.openqa.selenium.Dimension;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for per-thread driver configuration and cross-browser matrix expansion
+ */
+public class DriverMatrixTest {
+    private static final List<String> MATRIX_PROPERTIES =
+            List.of("matrix.browsers", "matrix.headless", "matrix.window.sizes", "matrix.thread.count");
+
+    private final Map<String, String> previous = new HashMap<>();
+
+    @BeforeMethod
+    public void saveMatrixProperties() {
+        for (String key : MATRIX_PROPERTIES) {
+            previous.put(key, System.getProperty(key));
+            System.setProperty(key, "");
+        }
+    }
+
+    @AfterMethod
+    public void restoreMatrixProperties() {
+        previous.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+        DriverConfig.clearCurrent();
+    }
+
+    @Test(description = "Verify every browser, headless and window size combination is built")
+    public void testConfigurations() {
+        Assert.assertTrue(MatrixSuiteListener.getConfigurations().isEmpty(), "Matrix mode should be off by default");
+
+        System.setProperty("matrix.browsers", "chrome, firefox");
+        System.setProperty("matrix.headless", "true,false");
+        System.setProperty("matrix.window.sizes", "1366x768,375x812");
+        List<String> names = MatrixSuiteListener.getConfigurations().stream()
+                .map(DriverConfig::getName)
+                .collect(Collectors.toList());
+        Assert.assertEquals(names.size(), 8);
+        Assert.assertEquals(names.get(0), "chrome-headless-1366x768");
+        Assert.assertEquals(names.get(3), "chrome-375x812");
+        Assert.assertEquals(names.get(7), "firefox-375x812");
+    }
+
+    @Test(description = "Verify only matrix tests are copied per configuration and run in parallel")
+    public void testSuiteExpansion() {
+        System.setProperty("matrix.browsers", "chrome,edge");
+        XmlSuite suite = new XmlSuite();
+        suite.setName("suite");
+        XmlTest browserTests = new XmlTest(suite);
+        browserTests.setName("Login Tests");
+        browserTests.addParameter(MatrixSuiteListener.MATRIX, "true");
+        browserTests.getXmlClasses().add(new XmlClass(FacebookLoginTest.class.getName(), false));
+        XmlTest unitTests = new XmlTest(suite);
+        unitTests.setName("Framework Tests");
+
+        new MatrixSuiteListener().alter(List.of(suite));
+
+        List<XmlTest> tests = suite.getTests();
+        Assert.assertEquals(tests.stream().map(XmlTest::getName).collect(Collectors.toList()),
+                List.of("Login Tests [chrome-headless]", "Login Tests [edge-headless]", "Framework Tests"));
+        Assert.assertEquals(tests.get(1).getParameter(DriverConfig.BROWSER), "edge");
+        Assert.assertEquals(tests.get(1).getParameter(MatrixSuiteListener.CONFIGURATION), "edge-headless");
+        Assert.assertNotSame(tests.get(0).getXmlClasses().get(0), tests.get(1).getXmlClasses().get(0));
+        Assert.assertNull(tests.get(2).getParameter(DriverConfig.BROWSER));
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+        Assert.assertEquals(suite.getThreadCount(), 5, "Suite thread count should not be lowered");
+    }
+
+    @Test(description = "Verify test parameters override config.properties for the current thread only")
+    public void testPerThreadConfiguration() throws InterruptedException {
+        DriverConfig config = DriverConfig.fromParameters(Map.of(DriverConfig.BROWSER, "Firefox",
+                DriverConfig.WINDOW_SIZE, "1280x720"));
+        Assert.assertEquals(config.getBrowser(), "firefox");
+        Assert.assertEquals(config.isHeadless(), ConfigReader.isHeadless());
+        Assert.assertEquals(config.getWindowSize(), new Dimension(1280, 720));
+
+        DriverConfig.setCurrent(config);
+        String[] otherThread = new String[1];
+        Thread thread = new Thread(() -> otherThread[0] = DriverConfig.current().getBrowser());
+        thread.start();
+        thread.join();
+        Assert.assertEquals(DriverConfig.current().getBrowser(), "firefox");
+        Assert.assertEquals(otherThread[0], ConfigReader.getBrowser());
+    }
+}
@@ -1,6 +1,8 @@
 package com.automation.tests;
 
 import com.automation.base.BaseTest;
+import com.automation.data.TestDataProvider;
+import com.automation.data.TestDataRow;
 import com.automation.pages.FacebookLoginPage;
 import com.automation.utils.ConfigReader;
 import com.automation.utils.ExtentReportManager;
@@ -10,6 +12,8 @@ import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
+import java.util.Iterator;
+
 /**
  * Test class for Facebook Login functionality
  */
@@ -86,64 +90,38 @@ public class FacebookLoginTest extends BaseTest {
         Assert.assertTrue(pageTitle.contains("Facebook"), "Page title does not contain 'Facebook'");
 
         ExtentReportManager.getTest().log(Status.PASS, "Page title verified: " + pageTitle);
-        logger.info("Test passed: Page title is correct - " + pageTitle);
+        logger.info("Test passed: Page title is correct - {}", pageTitle);
     }
 
-    @Test(priority = 4, description = "Verify login with empty credentials")
-    public void testLoginWithEmptyCredentials() {
-        ExtentReportManager.getTest().log(Status.INFO, "Testing login with empty credentials");
-        logger.info("Executing: testLoginWithEmptyCredentials");
-
-        loginPage.enterEmail("");
-        loginPage.enterPassword("");
-        loginPage.clickLoginButton();
-
-        // Facebook will show browser validation or keep user on same page
-        String currentUrl = loginPage.getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("facebook.com"), "Should remain on Facebook domain");
-
-        ExtentReportManager.getTest().log(Status.PASS, "Login with empty credentials handled correctly");
-        logger.info("Test passed: Empty credentials validation working");
+    @DataProvider(name = "invalidLoginInputs", parallel = true)
+    public Iterator<Object[]> invalidLoginInputs() {
+        return TestDataProvider.rows("testdata/invalid-login-inputs.csv");
     }
 
-    @Test(priority = 5, description = "Verify login with invalid email format")
-    public void testLoginWithInvalidEmailFormat() {
-        ExtentReportManager.getTest().log(Status.INFO, "Testing login with invalid email format");
-        logger.info("Executing: testLoginWithInvalidEmailFormat");
+    @Test(priority = 4, dataProvider = "invalidLoginInputs",
+            description = "Verify login with invalid input combinations from test data")
+    public void testLoginWithInvalidInputs(TestDataRow row) {
+        ExtentReportManager.getTest().log(Status.INFO, "Testing " + row.get("description", row.getId()));
+        logger.info("Executing: testLoginWithInvalidInputs [{}]", row.getId());
 
-        loginPage.enterEmail("invalidemail");
-        loginPage.enterPassword("password123");
-        loginPage.clickLoginButton();
+        // Rows run in parallel on the same test instance, so use a page bound to this thread's driver
+        FacebookLoginPage page = new FacebookLoginPage(getDriver());
+        page.enterEmail(row.get("email"));
+        page.enterPassword(row.get("password"));
+        page.clickLoginButton();
 
         // Wait for potential error or page behavior
         try {
-            Thread.sleep(2000);
+            Thread.sleep(row.getInt("waitMs", 0));
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
 
-        String currentUrl = loginPage.getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("facebook.com"), "Should handle invalid email appropriately");
+        String currentUrl = page.getCurrentUrl();
+        Assert.assertTrue(currentUrl.contains("facebook.com"), "Should remain on Facebook domain for " + row.getId());
 
-        ExtentReportManager.getTest().log(Status.PASS, "Invalid email format handled correctly");
-        logger.info("Test passed: Invalid email format validation working");
-    }
-
-    @Test(priority = 6, description = "Verify login with valid email and empty password")
-    public void testLoginWithEmptyPassword() {
-        ExtentReportManager.getTest().log(Status.INFO, "Testing login with empty password");
-        logger.info("Executing: testLoginWithEmptyPassword");
-
-        loginPage.enterEmail("test@example.com");
-        loginPage.enterPassword("");
-        loginPage.clickLoginButton();
-
-        // Facebook will show validation
-        String currentUrl = loginPage.getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("facebook.com"), "Should remain on Facebook domain");
-
-        ExtentReportManager.getTest().log(Status.PASS, "Empty password validation working correctly");
-        logger.info("Test passed: Empty password handled correctly");
+        ExtentReportManager.getTest().log(Status.PASS, "Invalid input handled correctly: " + row.getId());
+        logger.info("Test passed: Invalid input {} handled correctly", row.getId());
     }
 
     @Test(priority = 7, description = "Verify login with invalid credentials")
@@ -214,27 +192,4 @@ public class FacebookLoginTest extends BaseTest {
         ExtentReportManager.getTest().log(Status.PASS, "Create new account button working correctly");
         logger.info("Test passed: Create account functionality verified");
     }
-
-    @Test(priority = 10, description = "Verify login with special characters in password")
-    public void testLoginWithSpecialCharacters() {
-        ExtentReportManager.getTest().log(Status.INFO, "Testing login with special characters in password");
-        logger.info("Executing: testLoginWithSpecialCharacters");
-
-        loginPage.enterEmail("test@example.com");
-        loginPage.enterPassword("Test@#$%^&*()123");
-        loginPage.clickLoginButton();
-
-        // Wait for response
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-
-        String currentUrl = loginPage.getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("facebook.com"), "Should handle special characters in password");
-
-        ExtentReportManager.getTest().log(Status.PASS, "Special characters in password handled correctly");
-        logger.info("Test passed: Special characters validation working");
-    }
 }
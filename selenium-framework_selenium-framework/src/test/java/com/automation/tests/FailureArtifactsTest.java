@@ -0,0 +1,140 @@
+package com.automation.tests;
+
+import com.automation.driver.CommandHistory;
+import com.automation.utils.FailureArtifacts;
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.Logs;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Test class for failure artifact bundles, using a fake driver with a fixed page state
+ */
+public class FailureArtifactsTest {
+    private static final List<String> PROPERTIES = List.of("failure.artifacts.dir",
+            "failure.artifacts.command.history", "failure.artifacts.max.entry.kb", "failure.artifacts.max.bundles");
+    private static final String DOM = "<html><body><input id='email'/></body></html>";
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("failure-artifacts");
+        System.setProperty("failure.artifacts.dir", dir.toString());
+        System.setProperty("failure.artifacts.command.history", "3");
+        FailureArtifacts.reset();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FailureArtifacts.reset();
+        PROPERTIES.forEach(System::clearProperty);
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test(description = "Verify a bundle holds page state, console, network and the last driver commands")
+    public void testBundleContents() throws IOException {
+        WebDriver driver = CommandHistory.decorate(fakeDriver(DOM));
+        driver.get("https://app.example.com/login");
+        WebElement email = driver.findElement(By.id("email"));
+        email.sendKeys("secret@example.com");
+        email.click();
+
+        Path bundle = FailureArtifacts.capture(driver, "LoginTest.testLogin", new AssertionError("title mismatch"));
+        FailureArtifacts.awaitPending();
+        Map<String, String> entries = readZip(bundle);
+
+        Assert.assertEquals(entries.keySet(), Set.of("page.json", "error.txt", "commands.log", "dom.html",
+                "console.log", "network.json"));
+        Assert.assertEquals(entries.get("dom.html"), DOM);
+        Assert.assertTrue(entries.get("page.json").contains("app.example.com"), entries.get("page.json"));
+        Assert.assertTrue(entries.get("error.txt").contains("title mismatch"));
+        Assert.assertTrue(entries.get("console.log").contains("Uncaught TypeError"));
+        Assert.assertTrue(entries.get("network.json").contains("app.example.com"), entries.get("network.json"));
+
+        List<String> commands = List.of(entries.get("commands.log").split("\n"));
+        Assert.assertEquals(commands.size(), 3, "Only the configured number of commands should be kept");
+        Assert.assertTrue(commands.get(0).contains("findElement(By.id: email)"), commands.get(0));
+        Assert.assertTrue(commands.get(1).contains("[id: email].sendKeys(***)"), commands.get(1));
+        Assert.assertFalse(entries.get("commands.log").contains("secret"), "Typed text should be masked");
+        CommandHistory.release(driver);
+    }
+
+    @Test(description = "Verify large entries are truncated and bundles stop at the configured count")
+    public void testCaps() throws IOException {
+        System.setProperty("failure.artifacts.max.entry.kb", "1");
+        System.setProperty("failure.artifacts.max.bundles", "1");
+        WebDriver driver = fakeDriver("<html>" + "x".repeat(5000) + "</html>");
+
+        Path bundle = FailureArtifacts.capture(driver, "LoginTest.first", null);
+        Assert.assertNull(FailureArtifacts.capture(driver, "LoginTest.second", null));
+        FailureArtifacts.awaitPending();
+
+        String dom = readZip(bundle).get("dom.html");
+        Assert.assertTrue(dom.startsWith("<html>xxx"));
+        Assert.assertTrue(dom.endsWith("[truncated " + (5013 - 1024) + " bytes]"), dom.substring(1000));
+        Assert.assertTrue(FailureArtifacts.getSummary().endsWith("1 skipped by caps"), FailureArtifacts.getSummary());
+    }
+
+    private static Map<String, String> readZip(Path bundle) throws IOException {
+        Assert.assertNotNull(bundle, "A bundle should be written");
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(bundle))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static WebDriver fakeDriver(String dom) {
+        WebElement element = fake(WebElement.class, Map.of("toString", "[[FakeDriver] -> id: email]"));
+        Logs logs = fake(Logs.class, Map.of("get", new LogEntries(List.of(new LogEntry(Level.SEVERE, 0,
+                "Uncaught TypeError: x is undefined")))));
+        WebDriver.Options options = fake(WebDriver.Options.class, Map.of("logs", logs));
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                handler(Map.of("getPageSource", dom, "getCurrentUrl", "https://app.example.com/login",
+                        "getTitle", "Log in", "findElement", element, "manage", options,
+                        "executeScript", List.of(Map.of("name", "https://app.example.com/api/session")))));
+    }
+
+    private static <T> T fake(Class<T> type, Map<String, Object> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler(results)));
+    }
+
+    private static InvocationHandler handler(Map<String, Object> results) {
+        return (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return results.get(method.getName());
+            }
+        };
+    }
+}
@@ -0,0 +1,191 @@
+package com.automation.tests;
+
+import com.automation.visual.ComparisonResult;
+import com.automation.visual.ImageComparator;
+import com.automation.visual.VisualBaseline;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for the visual comparison engine
+ */
+public class ImageComparatorTest {
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    private final ImageComparator comparator = new ImageComparator(4, 0.001, 0.05, 12, 256);
+
+    @Test(description = "Verify identical and near-identical images match")
+    public void testIdenticalImagesMatch() {
+        BufferedImage page = renderPage(Color.WHITE);
+        BufferedImage antialiased = renderPage(new Color(253, 253, 253));
+
+        ComparisonResult same = comparator.compare(page, copy(page), Collections.emptyList());
+        Assert.assertTrue(same.isMatch(), same.toString());
+        Assert.assertEquals(same.getDiffPixels(), 0);
+        Assert.assertEquals(same.getHashDistance(), 0);
+
+        ComparisonResult withinTolerance = comparator.compare(page, antialiased, Collections.emptyList());
+        Assert.assertTrue(withinTolerance.isMatch(), withinTolerance.toString());
+        Assert.assertEquals(withinTolerance.getDiffPixels(), 0);
+    }
+
+    @Test(description = "Verify changes within the pixel tolerance never fail the perceptual hash pre-screen")
+    public void testHashIgnoresChangesWithinTolerance() {
+        BufferedImage page = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        BufferedImage banded = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        fill(page, new Rectangle(0, 0, 1920, 1080), new Color(128, 128, 128));
+        for (int x = 0; x < 1920; x += 213) {
+            fill(banded, new Rectangle(x, 0, 213, 1080), x / 213 % 2 == 0 ? new Color(130, 130, 130)
+                    : new Color(126, 126, 126));
+        }
+
+        ComparisonResult result = comparator.compare(page, banded, Collections.emptyList());
+        Assert.assertTrue(result.isMatch(), result.toString());
+        Assert.assertEquals(result.getHashDistance(), 0);
+        Assert.assertEquals(result.getDiffPixels(), 0);
+    }
+
+    @Test(description = "Verify a small layout change is counted exactly and fails the threshold")
+    public void testSmallChangeIsCounted() {
+        BufferedImage page = renderPage(Color.WHITE);
+        BufferedImage shifted = copy(page);
+        fill(shifted, new Rectangle(600, 500, 40, 30), Color.BLACK);
+
+        ComparisonResult result = comparator.compare(page, shifted, Collections.emptyList());
+        Assert.assertFalse(result.isMatch(), result.toString());
+        Assert.assertFalse(result.isEarlyExit());
+        Assert.assertEquals(result.getDiffPixels(), 40 * 30);
+    }
+
+    @Test(description = "Verify ignore regions exclude dynamic content")
+    public void testIgnoreRegions() {
+        BufferedImage page = renderPage(Color.WHITE);
+        BufferedImage withBanner = copy(page);
+        Rectangle banner = new Rectangle(100, 300, 400, 60);
+        fill(withBanner, banner, Color.RED);
+
+        ComparisonResult result = comparator.compare(page, withBanner, List.of(banner));
+        Assert.assertTrue(result.isMatch(), result.toString());
+        Assert.assertEquals(result.getComparedPixels(), (long) WIDTH * HEIGHT - 400 * 60);
+    }
+
+    @Test(description = "Verify ignore regions are taken from viewport bounds and scaled to screenshot pixels")
+    public void testIgnoreRegionsFromViewportBounds() {
+        WebElement banner = fakeElement();
+        WebElement stale = fakeElement();
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    if (((String) args[0]).contains("devicePixelRatio")) {
+                        return 2.0;
+                    }
+                    Object element = ((Object[]) args[1])[0];
+                    if (element == stale) {
+                        throw new StaleElementReferenceException("gone");
+                    }
+                    // Scrolled 120px down: the banner at document y=100 starts above the viewport
+                    return List.of(10.5, -20L, 30L, 40.25);
+                });
+
+        List<Rectangle> regions = VisualBaseline.toRegions(driver, List.of(banner, stale));
+        Assert.assertEquals(regions, List.of(new Rectangle(21, -40, 60, 81)));
+    }
+
+    private static WebElement fakeElement() {
+        return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    throw new AssertionError("Bounds must come from getBoundingClientRect, not " + method.getName());
+                });
+    }
+
+    @Test(description = "Verify clearly different images are rejected early")
+    public void testClearlyDifferentImagesExitEarly() {
+        BufferedImage page = renderPage(Color.WHITE);
+
+        // Columns swapped between light and dark reverse every brightness step of the hash grid
+        ComparisonResult hashRejected = comparator.compare(renderColumns(0), renderColumns(1),
+                Collections.emptyList());
+        Assert.assertFalse(hashRejected.isMatch());
+        Assert.assertTrue(hashRejected.getHashDistance() > 12, hashRejected.toString());
+        Assert.assertEquals(hashRejected.getDiffPixels(), 0, "Rejected without a pixel comparison");
+
+        // Uniform change keeps the perceptual hash but exceeds the early exit ratio
+        BufferedImage tinted = copy(page);
+        fill(tinted, new Rectangle(0, 0, WIDTH, HEIGHT / 4), new Color(230, 230, 255));
+        ComparisonResult exited = new ImageComparator(4, 0.001, 0.05, -1, 256)
+                .compare(page, tinted, Collections.emptyList());
+        Assert.assertFalse(exited.isMatch());
+        Assert.assertTrue(exited.isEarlyExit(), exited.toString());
+        Assert.assertTrue(exited.getDiffPixels() < (long) WIDTH * HEIGHT / 4, "Comparison should stop early");
+    }
+
+    @Test(description = "Verify images of different sizes never match")
+    public void testSizeMismatch() {
+        ComparisonResult result = comparator.compare(renderPage(Color.WHITE),
+                new BufferedImage(WIDTH, HEIGHT - 1, BufferedImage.TYPE_INT_RGB), Collections.emptyList());
+        Assert.assertFalse(result.isMatch());
+        Assert.assertTrue(result.getReason().startsWith("image sizes differ"), result.getReason());
+    }
+
+    @Test(description = "Verify the diff image highlights changed and ignored pixels")
+    public void testDiffImage() {
+        BufferedImage page = renderPage(Color.WHITE);
+        BufferedImage changed = copy(page);
+        fill(changed, new Rectangle(10, 10, 5, 5), Color.BLACK);
+
+        BufferedImage diff = comparator.renderDiff(page, changed, List.of(new Rectangle(100, 100, 10, 10)));
+        Assert.assertEquals(diff.getWidth(), WIDTH);
+        Assert.assertEquals(diff.getRGB(12, 12), 0xFFFF0000);
+        Assert.assertEquals(diff.getRGB(105, 105), 0xFF4080FF);
+        Assert.assertNotEquals(diff.getRGB(300, 600), 0xFFFF0000);
+    }
+
+    private static BufferedImage renderPage(Color background) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(background);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(new Color(66, 103, 178));
+        graphics.fillRect(0, 0, WIDTH, 60);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 120; y < HEIGHT - 40; y += 40) {
+            graphics.drawString("Lorem ipsum dolor sit amet, consectetur adipiscing elit", 80, y);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static BufferedImage renderColumns(int offset) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int column = 0; column < 9; column++) {
+            fill(image, new Rectangle(column * WIDTH / 9, 0, WIDTH / 9 + 1, HEIGHT),
+                    (column + offset) % 2 == 0 ? Color.WHITE : Color.BLACK);
+        }
+        return image;
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        copy.getGraphics().drawImage(image, 0, 0, null);
+        return copy;
+    }
+
+    private static void fill(BufferedImage image, Rectangle area, Color color) {
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fill(area);
+        graphics.dispose();
+    }
+}
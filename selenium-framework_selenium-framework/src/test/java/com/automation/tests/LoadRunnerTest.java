@@ -0,0 +1,152 @@
+package com.automation.tests;
+
+import com.automation.base.BaseTest;
+import com.automation.base.DriverConfig;
+import com.automation.driver.DriverFactory;
+import com.automation.load.LoadFlows;
+import com.automation.load.LoadMetrics;
+import com.automation.load.LoadResult;
+import com.automation.load.LoadRunner;
+import com.automation.support.LocalStubServer;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Test class for the synthetic load runner
+ */
+public class LoadRunnerTest {
+    private Path json;
+    private Path html;
+
+    @AfterMethod
+    public void deleteReports() throws IOException {
+        for (Path report : new Path[] {json, html}) {
+            if (report != null) {
+                Files.deleteIfExists(report);
+            }
+        }
+        json = null;
+        html = null;
+    }
+
+    @Test(description = "Verify latency percentiles use the nearest-rank method")
+    public void testStepPercentiles() {
+        LoadMetrics metrics = new LoadMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.recordSuccess("step", i * 1_000_000L);
+        }
+        metrics.recordError("step", 500_000_000L);
+
+        LoadMetrics.StepStats stats = metrics.getSteps().get("step");
+        Assert.assertEquals(stats.getCount(), 101);
+        Assert.assertEquals(stats.getErrors(), 1);
+        Assert.assertEquals(stats.getPercentileMillis(50), 51.0);
+        Assert.assertEquals(stats.getPercentileMillis(99), 100.0);
+        Assert.assertEquals(stats.getPercentileMillis(100), 500.0);
+    }
+
+    @Test(description = "Verify sessions whose browser fails to start are counted as errors")
+    public void testSessionStartFailuresAreErrors() throws Exception {
+        BaseTest.setDriverFactory(config -> {
+            throw new SessionNotCreatedException("no browser");
+        });
+        try {
+            LoadResult result = new LoadRunner("facebook-login", LoadFlows.get("facebook-login"), 2, 0, 1).run();
+
+            LoadMetrics.StepStats start = result.getSteps().get("start session");
+            Assert.assertTrue(start.getErrors() > 0, "Failed session starts should be recorded");
+            Assert.assertEquals(start.getErrors(), start.getCount());
+            Assert.assertEquals(result.getSteps().get("iteration").getErrors(), start.getErrors(),
+                    "Each user without a browser is a failed iteration");
+        } finally {
+            BaseTest.setDriverFactory(null);
+        }
+    }
+
+    @Test(description = "Verify assertion failures in a flow, e.g. an exceeded budget, are counted as errors")
+    public void testAssertionFailuresAreErrors() throws Exception {
+        BaseTest.setDriverFactory(new DriverFactory() {
+            @Override
+            public WebDriver create(DriverConfig config) {
+                return stub(WebDriver.class);
+            }
+
+            @Override
+            public boolean isRemote() {
+                return true;
+            }
+        });
+        try {
+            LoadResult result = new LoadRunner("budget", (driver, steps) -> {
+                Thread.sleep(100);
+                steps.step("load page", () -> {
+                    throw new AssertionError("Performance budget exceeded");
+                });
+            }, 1, 0, 1).run();
+
+            LoadMetrics.StepStats iterations = result.getSteps().get("iteration");
+            Assert.assertTrue(iterations.getCount() > 0, "The flow should have run");
+            Assert.assertEquals(iterations.getErrors(), iterations.getCount());
+            Assert.assertEquals(result.getSteps().get("load page").getErrors(), iterations.getCount());
+        } finally {
+            BaseTest.setDriverFactory(null);
+        }
+    }
+
+    @Test(description = "Verify the login flow runs under load against a local stub server")
+    public void testLoginFlowAgainstStubServer() throws Exception {
+        try (LocalStubServer server = new LocalStubServer()) {
+            System.setProperty("load.target.url", server.getBaseUrl() + "/?delay=50");
+            LoadResult result = new LoadRunner("facebook-login", LoadFlows.get("facebook-login"), 2, 1, 3).run();
+
+            LoadMetrics.StepStats start = result.getSteps().get("start session");
+            if (start.getErrors() == start.getCount()) {
+                throw new SkipException("No local browser available to run the load flow");
+            }
+            LoadMetrics.StepStats login = result.getSteps().get("login");
+            Assert.assertNotNull(login, "Login step should be recorded");
+            Assert.assertTrue(login.getCount() > 0, "Login step should run at least once");
+            Assert.assertEquals(login.getErrors(), 0, "Login step should not fail against the stub");
+            Assert.assertTrue(result.getSteps().get("open login page").getPercentileMillis(50) >= 50,
+                    "Page latency should include the stub delay");
+
+            json = Files.createTempFile("load-result", ".json");
+            html = Files.createTempFile("load-result", ".html");
+            result.writeJson(json);
+            result.writeHtml(html);
+            Assert.assertTrue(new String(Files.readAllBytes(json)).contains("\"p95Millis\""));
+            Assert.assertTrue(new String(Files.readAllBytes(html)).contains("<td>login</td>"));
+        } finally {
+            System.clearProperty("load.target.url");
+        }
+    }
+
+    /**
+     * Implement an interface with no-op methods, answering interface-typed calls
+     * (e.g. manage().timeouts()) with further stubs
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "stub " + type.getSimpleName();
+                default:
+                    return method.getReturnType().isInterface() ? stub(method.getReturnType()) : null;
+            }
+        });
+    }
+}
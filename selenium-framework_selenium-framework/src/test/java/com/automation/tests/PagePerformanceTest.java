@@ -0,0 +1,112 @@
+package com.automation.tests;
+
+import com.automation.base.BasePage;
+import com.automation.base.BaseTest;
+import com.automation.base.PerformanceBudget;
+import com.automation.support.LocalStubServer;
+import com.automation.utils.PageMetrics;
+import com.automation.utils.PerformanceCollector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.*;
+
+import java.io.IOException;
+
+/**
+ * Test class for page performance capture and budget assertions against a local stub server
+ */
+public class PagePerformanceTest extends BaseTest {
+    private static final Logger logger = LogManager.getLogger(PagePerformanceTest.class);
+    private LocalStubServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new LocalStubServer()
+                .page("/heavy", "<html><body><script src='/asset?kb=256'></script></body></html>");
+    }
+
+    @BeforeMethod
+    public void setup() {
+        try {
+            initializeDriver();
+        } catch (RuntimeException e) {
+            String reason = String.valueOf(e.getMessage()).split("\n", 2)[0];
+            throw new SkipException("No local browser available: " + reason);
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        quitDriver();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test(description = "Verify navigation timing reflects a slow server response")
+    public void testNavigationTimingReflectsServerDelay() {
+        navigateToUrl(server.getBaseUrl() + "/?delay=700");
+        PageMetrics metrics = navigationMetrics();
+        logger.info("Collected metrics: {}", metrics);
+
+        Assert.assertTrue(metrics.getTimeToFirstByte() >= 700, "TTFB should include the server delay");
+        Assert.assertTrue(metrics.getDomContentLoaded() >= metrics.getTimeToFirstByte(),
+                "DOMContentLoaded should not precede the first byte");
+    }
+
+    @Test(description = "Verify transfer size includes page resources")
+    public void testTransferSizeIncludesResources() {
+        navigateToUrl(server.getBaseUrl() + "/heavy");
+        PageMetrics metrics = navigationMetrics();
+
+        Assert.assertTrue(metrics.getResourceCount() >= 1, "Script resource should be recorded");
+        Assert.assertTrue(metrics.getTransferSize() >= 256 * 1024, "Transfer size should include the script");
+    }
+
+    @Test(description = "Verify a page within its budget loads without assertion errors")
+    public void testPageWithinBudget() {
+        navigateToUrl(server.getBaseUrl() + "/");
+        new GenerousBudgetPage(getDriver()).load();
+    }
+
+    @Test(description = "Verify an exceeded budget fails the page load",
+            expectedExceptions = AssertionError.class,
+            expectedExceptionsMessageRegExp = ".*DOMContentLoaded.*")
+    public void testExceededBudgetFailsPageLoad() {
+        navigateToUrl(server.getBaseUrl() + "/?delay=800");
+        new StrictBudgetPage(getDriver()).load();
+    }
+
+    private static PageMetrics navigationMetrics() {
+        PageMetrics metrics = PerformanceCollector.getLastMetrics();
+        Assert.assertNotNull(metrics, "navigateToUrl should collect metrics with performance.capture.enabled");
+        return metrics;
+    }
+
+    @PerformanceBudget(domContentLoadedMs = 300)
+    public static class StrictBudgetPage extends BasePage {
+        public StrictBudgetPage(WebDriver driver) {
+            super(driver);
+        }
+
+        public void load() {
+            waitForPageLoad();
+        }
+    }
+
+    @PerformanceBudget(domContentLoadedMs = 10000, transferSizeKb = 2048, resourceCount = 20)
+    public static class GenerousBudgetPage extends BasePage {
+        public GenerousBudgetPage(WebDriver driver) {
+            super(driver);
+        }
+
+        public void load() {
+            waitForPageLoad();
+        }
+    }
+}
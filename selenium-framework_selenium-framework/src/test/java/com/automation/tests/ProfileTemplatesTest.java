@@ -0,0 +1,149 @@
+package com.automation.tests;
+
+import com.automation.base.DriverConfig;
+import com.automation.driver.ProfileTemplates;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for browser profile templates, using a fake launcher that writes a profile
+ */
+public class ProfileTemplatesTest {
+    private static final DriverConfig CHROME = new DriverConfig("chrome", true, null);
+    private static final String EXTENSION = "Default/Extensions/abc/1.0/manifest.json";
+    private static final List<String> PROPERTIES = List.of("profile.template.dir", "profile.template.copy.mode",
+            "profile.template.measure.fresh", "profile.template.extensions");
+
+    private final AtomicInteger launches = new AtomicInteger();
+    private Path root;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("profile-templates");
+        System.setProperty("profile.template.dir", root.toString());
+        System.setProperty("profile.template.measure.fresh", "false");
+        ProfileTemplates.clear();
+        launches.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        ProfileTemplates.clear();
+        PROPERTIES.forEach(System::clearProperty);
+        ProfileTemplates.delete(root);
+    }
+
+    @Test(description = "Verify the template is built once and each session gets its own copy")
+    public void testTemplateBuiltOnceAndCopied() throws IOException {
+        System.setProperty("profile.template.copy.mode", "copy");
+        Path first = ProfileTemplates.newSessionProfile(CHROME, this::launch);
+        Path second = ProfileTemplates.newSessionProfile(CHROME, this::launch);
+
+        Assert.assertEquals(launches.get(), 1, "Template should be built by a single launch");
+        Assert.assertNotEquals(first, second);
+        Assert.assertTrue(Files.exists(first.resolve("Default/Preferences")));
+        Assert.assertFalse(Files.exists(first.resolve("SingletonLock")), "Browser lock files should be removed");
+
+        Files.write(first.resolve("Default/Preferences"), "changed".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(Files.readString(second.resolve("Default/Preferences")), "{\"warm\": true}",
+                "Sessions must not see each other's profile changes");
+    }
+
+    @Test(description = "Verify read-only template files are hard-linked and writable files copied")
+    public void testReadOnlyFilesAreHardLinked() throws IOException {
+        System.setProperty("profile.template.copy.mode", "link");
+        Path first = ProfileTemplates.newSessionProfile(CHROME, this::launch);
+        Path second = ProfileTemplates.newSessionProfile(CHROME, this::launch);
+
+        Assert.assertTrue(Files.isSameFile(first.resolve(EXTENSION), second.resolve(EXTENSION)));
+        Assert.assertFalse(Files.isSameFile(first.resolve("Default/Preferences"),
+                second.resolve("Default/Preferences")));
+    }
+
+    @Test(description = "Verify Chromium sessions started from a template still get the configured extensions")
+    @SuppressWarnings("unchecked")
+    public void testChromiumSessionsGetExtensions() throws IOException {
+        Path extension = Files.write(root.resolve("adblock.crx"), new byte[] {1, 2, 3});
+        System.setProperty("profile.template.extensions", extension.toString());
+        Path profile = ProfileTemplates.newSessionProfile(CHROME, this::launch);
+
+        ChromeOptions options = new ChromeOptions();
+        ProfileTemplates.useProfile(options, profile);
+        Map<String, Object> chromeOptions = (Map<String, Object>) options.asMap().get(ChromeOptions.CAPABILITY);
+        Assert.assertEquals(((List<?>) chromeOptions.get("extensions")).size(), 1,
+                "Extensions must be passed to each session, they are not kept in a Chromium profile");
+    }
+
+    @Test(description = "Verify session copies and directories of dead runs are cleaned up")
+    public void testCleanup() throws IOException {
+        Path staleRun = Files.createDirectories(root.resolve("run-" + Integer.MAX_VALUE).resolve("sessions/x"));
+        Path profile = ProfileTemplates.newSessionProfile(CHROME, this::launch);
+        Assert.assertFalse(Files.exists(staleRun), "Profiles of runs that are gone should be removed");
+
+        WebDriver driver = fakeDriver();
+        ProfileTemplates.attach(driver, profile, 1_000_000);
+        Assert.assertTrue(Files.exists(profile));
+        ProfileTemplates.release(driver);
+        Assert.assertFalse(Files.exists(profile), "Profile copy should be deleted when the session quits");
+        Assert.assertTrue(ProfileTemplates.getSummary().contains("1 sessions from templates"),
+                ProfileTemplates.getSummary());
+    }
+
+    /**
+     * Stand in for a browser launch: write a profile into the user data directory
+     */
+    private WebDriver launch(MutableCapabilities options) {
+        launches.incrementAndGet();
+        Path profile = getUserDataDir(options);
+        try {
+            Files.createDirectories(profile.resolve("Default/Extensions/abc/1.0"));
+            Files.write(profile.resolve("Default/Preferences"), "{\"warm\": true}".getBytes(StandardCharsets.UTF_8));
+            Files.write(profile.resolve(EXTENSION), "{}".getBytes(StandardCharsets.UTF_8));
+            Files.write(profile.resolve("SingletonLock"), new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return fakeDriver();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Path getUserDataDir(Capabilities options) {
+        Map<String, Object> chromeOptions = (Map<String, Object>) options.getCapability(ChromeOptions.CAPABILITY);
+        return ((List<String>) chromeOptions.get("args")).stream()
+                .filter(arg -> arg.startsWith("--user-data-dir="))
+                .map(arg -> Paths.get(arg.substring("--user-data-dir=".length())))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,73 @@
+package com.automation.tests;
+
+import com.automation.base.DriverConfig;
+import com.automation.driver.RemoteDriverFactory;
+import com.automation.driver.SessionTimings;
+import com.automation.support.StubGridServer;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Test class for starting remote sessions on a grid
+ */
+public class RemoteDriverFactoryTest {
+    private static final DriverConfig CHROME = new DriverConfig("chrome", true, null);
+
+    @Test(description = "Verify failed session starts are retried and routing capabilities are sent")
+    public void testRetriesAndRouting() throws Exception {
+        try (StubGridServer grid = new StubGridServer(2, 0)) {
+            RemoteDriverFactory factory = new RemoteDriverFactory(grid.getUrl(),
+                    Map.of("platformName", "linux", "se:team", "checkout"), 2, 10, 0, Duration.ofSeconds(10));
+            WebDriver driver = factory.create(CHROME);
+            driver.quit();
+
+            Assert.assertEquals(grid.getSessionRequests(), 3);
+            Assert.assertTrue(grid.getLastSessionRequest().contains("\"se:team\": \"checkout\""),
+                    grid.getLastSessionRequest());
+            Assert.assertTrue(grid.getLastSessionRequest().contains("\"platformName\": \"linux\""));
+        }
+    }
+
+    @Test(description = "Verify a session that cannot start fails after the configured retries")
+    public void testRetriesExhausted() throws Exception {
+        try (StubGridServer grid = new StubGridServer(5, 0)) {
+            RemoteDriverFactory factory = new RemoteDriverFactory(grid.getUrl(), Map.of(), 1, 10, 0,
+                    Duration.ofSeconds(10));
+            Assert.assertThrows(SessionNotCreatedException.class, () -> factory.create(CHROME));
+            Assert.assertEquals(grid.getSessionRequests(), 2);
+        }
+    }
+
+    @Test(description = "Verify queue wait is separated from session start time")
+    public void testQueueWaitIsMeasured() throws Exception {
+        try (StubGridServer grid = new StubGridServer(0, 400)) {
+            RemoteDriverFactory factory = new RemoteDriverFactory(grid.getUrl(), Map.of(), 0, 10, 20,
+                    Duration.ofSeconds(10));
+            factory.create(CHROME).quit();
+
+            Assert.assertTrue(SessionTimings.getLastQueueMillis() >= 300,
+                    "Queue wait should cover the time in the queue: " + SessionTimings.getLastQueueMillis());
+            Assert.assertTrue(SessionTimings.getLastStartMillis() >= 150,
+                    "Start time should cover the time after leaving the queue: " + SessionTimings.getLastStartMillis());
+        }
+    }
+
+    @Test(description = "Verify sessions share connections to the grid")
+    public void testConnectionsAreReused() throws Exception {
+        try (StubGridServer grid = new StubGridServer(0, 0)) {
+            RemoteDriverFactory factory = new RemoteDriverFactory(grid.getUrl(), Map.of(), 0, 10, 0,
+                    Duration.ofSeconds(10));
+            for (int i = 0; i < 5; i++) {
+                factory.create(CHROME).quit();
+            }
+            Assert.assertEquals(grid.getSessionRequests(), 5);
+            Assert.assertTrue(grid.getConnections() < 5, "Sessions should reuse connections, opened "
+                    + grid.getConnections());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.automation.tests;
+
+import com.automation.listeners.MatrixSuiteListener;
+import com.automation.listeners.RetryAnalyzer;
+import com.automation.listeners.RetryTransformer;
+import com.automation.listeners.RunModeInterceptor;
+import com.automation.utils.FailureManifest;
+import com.automation.utils.FlakinessHistory;
+import com.automation.utils.JsonUtility;
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for in-run retries, failed-only reruns and flaky test quarantine
+ */
+public class RerunQuarantineTest {
+    private static final String LOGIN = "com.example.LoginTest.testLogin";
+    private static final String LOGOUT = "com.example.LoginTest.testLogout";
+    private static final String SEARCH = "com.example.SearchTest.testSearch";
+    private static final List<String> PROPERTIES = List.of("run.mode", "run.lane", "rerun.manifest.file",
+            "retry.count", "flakiness.history.file", "quarantine.tests", "quarantine.min.runs",
+            "quarantine.flakiness.rate");
+
+    private Path dir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("rerun");
+        System.setProperty("rerun.manifest.file", dir.resolve("failed-tests.json").toString());
+        System.setProperty("flakiness.history.file", dir.resolve("history.json").toString());
+        System.setProperty("quarantine.min.runs", "5");
+        System.setProperty("quarantine.flakiness.rate", "0.2");
+        FailureManifest.reload();
+        FlakinessHistory.reload();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        PROPERTIES.forEach(System::clearProperty);
+        FailureManifest.reload();
+        FlakinessHistory.reload();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test(description = "Verify a failed test is retried exactly retry.count times")
+    public void testRetryCount() {
+        System.setProperty("retry.count", "2");
+        RetryAnalyzer analyzer = new RetryAnalyzer();
+        ITestResult result = result(LOGIN);
+        Assert.assertTrue(analyzer.retry(result));
+        Assert.assertTrue(analyzer.retry(result));
+        Assert.assertFalse(analyzer.retry(result), "No retry beyond retry.count");
+
+        System.setProperty("retry.count", "0");
+        Assert.assertFalse(new RetryAnalyzer().retry(result), "Retries are off by default");
+    }
+
+    @Test(description = "Verify the retry analyzer is attached only where a test declares none")
+    public void testRetryTransformer() {
+        RetryTransformer transformer = new RetryTransformer();
+        AtomicReference<Class<?>> analyzer = new AtomicReference<>(defaultAnalyzer());
+        transformer.transform(annotation(analyzer), null, null, null);
+        Assert.assertEquals(analyzer.get(), RetryAnalyzer.class);
+
+        analyzer.set(CustomRetry.class);
+        transformer.transform(annotation(analyzer), null, null, null);
+        Assert.assertEquals(analyzer.get(), CustomRetry.class, "A declared analyzer must be kept");
+    }
+
+    @Test(description = "Verify failures are written with configuration and data rows and read back")
+    public void testManifestRoundTrip() {
+        FailureManifest.recordFailure(FailureManifest.testKey(LOGIN, "firefox-headless"), "users.csv", "locked");
+        FailureManifest.recordFailure(FailureManifest.testKey(LOGOUT, null), null, null);
+        FailureManifest.save();
+        FailureManifest.reload();
+
+        Assert.assertTrue(FailureManifest.exists());
+        Assert.assertTrue(FailureManifest.getFailedTests().contains(LOGIN + "@firefox-headless"));
+        Assert.assertTrue(FailureManifest.hasFailed(LOGIN, "firefox-headless"));
+        Assert.assertFalse(FailureManifest.hasFailed(LOGIN, "chrome-headless"),
+                "A test that failed on one browser must not be rerun on the others");
+        Assert.assertTrue(FailureManifest.hasFailed(LOGOUT, "chrome-headless"),
+                "A failure recorded outside matrix mode matches every configuration");
+        Assert.assertEquals(FailureManifest.getFailedRows("users.csv"), Set.of("locked"));
+        Assert.assertTrue(FailureManifest.getFailedRows("other.csv").isEmpty());
+    }
+
+    @Test(description = "Verify quarantine and impacted runs never replace the main run's failure manifest")
+    public void testManifestPerLane() {
+        String main = "com.example.CheckoutTest.testPay";
+        String flaky = "com.example.FlakyTest.testFlaky";
+        FailureManifest.recordFailure(main, null, null);
+        FailureManifest.save();
+
+        System.setProperty("run.lane", "quarantine");
+        Assert.assertEquals(FailureManifest.getFile(), dir.resolve("failed-tests-quarantine.json"));
+        FailureManifest.recordFailure(flaky, null, null);
+        FailureManifest.save();
+        System.clearProperty("run.lane");
+        System.setProperty("run.mode", "impacted");
+        FailureManifest.save();
+
+        System.clearProperty("run.mode");
+        FailureManifest.reload();
+        Assert.assertTrue(FailureManifest.getFailedTests().contains(main));
+        Assert.assertFalse(FailureManifest.getFailedTests().contains(flaky), "Main manifest was replaced");
+        System.setProperty("run.lane", "quarantine");
+        FailureManifest.reload();
+        Assert.assertTrue(FailureManifest.getFailedTests().contains(flaky));
+    }
+
+    @Test(description = "Verify run.mode=failed selects only the previous failures of the current configuration")
+    public void testFailedOnlySelection() throws IOException {
+        JsonUtility.write(dir.resolve("failed-tests.json"), Map.of("failures", List.of(
+                Map.of("test", LOGIN + "@firefox-headless", "rows", List.of()),
+                Map.of("test", LOGOUT, "rows", List.of()))));
+        System.setProperty("run.mode", "failed");
+        RunModeInterceptor interceptor = new RunModeInterceptor();
+
+        Assert.assertEquals(names(interceptor.intercept(methods(LOGIN, LOGOUT, SEARCH), context("chrome-headless"))),
+                List.of(LOGOUT));
+        Assert.assertEquals(names(interceptor.intercept(methods(LOGIN, LOGOUT, SEARCH), context("firefox-headless"))),
+                List.of(LOGIN, LOGOUT));
+        Assert.assertEquals(names(interceptor.intercept(methods(LOGIN, LOGOUT, SEARCH), context(null))),
+                List.of(LOGOUT));
+    }
+
+    @Test(description = "Verify only tests crossing the flakiness threshold over enough runs are quarantined")
+    public void testQuarantineThresholdAndLanes() throws IOException {
+        JsonUtility.write(dir.resolve("history.json"), Map.of("tests", Map.of(
+                LOGIN, Map.of("recent", List.of("pass", "flaky", "pass", "pass", "pass")),
+                LOGOUT, Map.of("recent", List.of("fail", "fail", "fail", "fail", "fail")),
+                SEARCH, Map.of("recent", List.of("flaky", "flaky", "pass")))));
+        System.setProperty("quarantine.tests", "com.example.PaymentTest.testRefund");
+
+        Assert.assertEquals(FlakinessHistory.getFlakinessRate(LOGIN), 0.2);
+        Assert.assertEquals(FlakinessHistory.getFlakinessRate(LOGOUT), 0.0, "Consistently broken is not flaky");
+        Assert.assertEquals(FlakinessHistory.getQuarantined(), Set.of(LOGIN, "com.example.PaymentTest.testRefund"),
+                "Tests with fewer than quarantine.min.runs runs must not be quarantined");
+
+        RunModeInterceptor interceptor = new RunModeInterceptor();
+        System.setProperty("run.lane", "main");
+        Assert.assertEquals(names(interceptor.intercept(methods(LOGIN, LOGOUT, SEARCH), context(null))),
+                List.of(LOGOUT, SEARCH));
+        System.setProperty("run.lane", "quarantine");
+        Assert.assertEquals(names(interceptor.intercept(methods(LOGIN, LOGOUT, SEARCH), context(null))),
+                List.of(LOGIN));
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        return methods.stream().map(m -> m.getMethod().getQualifiedName()).collect(Collectors.toList());
+    }
+
+    private static List<IMethodInstance> methods(String... qualifiedNames) {
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (String name : qualifiedNames) {
+            ITestNGMethod method = proxy(ITestNGMethod.class, Map.of("getQualifiedName", name));
+            methods.add(proxy(IMethodInstance.class, Map.of("getMethod", method)));
+        }
+        return methods;
+    }
+
+    private static ITestContext context(String configuration) {
+        XmlTest test = new XmlTest(new XmlSuite());
+        if (configuration != null) {
+            test.addParameter(MatrixSuiteListener.CONFIGURATION, configuration);
+        }
+        return proxy(ITestContext.class, Map.of("getCurrentXmlTest", test, "getName", "rerun"));
+    }
+
+    private static ITestResult result(String qualifiedName) {
+        ITestNGMethod method = proxy(ITestNGMethod.class, Map.of("getQualifiedName", qualifiedName));
+        return proxy(ITestResult.class, Map.of("getMethod", method));
+    }
+
+    private static Class<?> defaultAnalyzer() {
+        try {
+            return (Class<?>) Test.class.getMethod("retryAnalyzer").getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ITestAnnotation annotation(AtomicReference<Class<?>> analyzer) {
+        return (ITestAnnotation) Proxy.newProxyInstance(ITestAnnotation.class.getClassLoader(),
+                new Class<?>[]{ITestAnnotation.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getRetryAnalyzerClass")) {
+                        return analyzer.get();
+                    }
+                    if (method.getName().equals("setRetryAnalyzer")) {
+                        analyzer.set((Class<?>) args[0]);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Implement an interface by answering the given methods and returning null otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answers.get(method.getName()));
+    }
+
+    /**
+     * Stands for a retry analyzer a test declares itself
+     */
+    public static class CustomRetry implements IRetryAnalyzer {
+        @Override
+        public boolean retry(ITestResult result) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.automation.tests;
+
+import com.automation.base.BaseTest;
+import com.automation.support.LocalStubServer;
+import com.automation.utils.ConfigReader;
+import com.automation.utils.SessionStateCache;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the session state cache, using an in-memory browser and, where one is
+ * installed, a real browser against a local stub server
+ */
+public class SessionStateCacheTest {
+    private static final String FLOW = "cache-test-login";
+    private static final List<String> PROPERTIES = List.of("session.cache.dir", "session.cache.ttl.minutes");
+
+    private final AtomicInteger flowRuns = new AtomicInteger();
+    private Path cacheDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        cacheDir = Files.createTempDirectory("session-cache").resolve("snapshots");
+        System.setProperty("session.cache.dir", cacheDir.toString());
+        SessionStateCache.clear();
+        flowRuns.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        SessionStateCache.clear();
+        PROPERTIES.forEach(System::clearProperty);
+        try (Stream<Path> files = Files.walk(cacheDir.getParent())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "Verify a cached snapshot is restored instead of replaying the flow, also from disk")
+    public void testRestoresCachedState() {
+        FakeBrowser first = new FakeBrowser();
+        Assert.assertFalse(SessionStateCache.restoreOrRecord(first.driver, FLOW, () -> login(first)));
+
+        SessionStateCache.clear();
+        FakeBrowser second = new FakeBrowser();
+        Assert.assertTrue(SessionStateCache.restoreOrRecord(second.driver, FLOW, () -> login(second)));
+        Assert.assertEquals(flowRuns.get(), 1, "Flow should not be replayed when the snapshot is restored");
+        Assert.assertEquals(second.cookies.get("session").getValue(), "abc");
+        Assert.assertEquals(second.storage.get("localStorage"), Map.of("token", "t-1"));
+    }
+
+    @Test(description = "Verify an expired snapshot is dropped and the flow replayed")
+    public void testExpiredSnapshotIsReplayed() throws InterruptedException {
+        FakeBrowser browser = new FakeBrowser();
+        SessionStateCache.restoreOrRecord(browser.driver, FLOW, () -> login(browser));
+        System.setProperty("session.cache.ttl.minutes", "0");
+        Thread.sleep(5);
+
+        Assert.assertFalse(SessionStateCache.restoreOrRecord(browser.driver, FLOW, () -> login(browser)));
+        Assert.assertEquals(flowRuns.get(), 2);
+    }
+
+    @Test(description = "Verify invalidation and a failed verifier both force the flow to be replayed")
+    public void testInvalidation() {
+        FakeBrowser browser = new FakeBrowser();
+        SessionStateCache.restoreOrRecord(browser.driver, FLOW, () -> login(browser));
+        SessionStateCache.invalidate(FLOW);
+        Assert.assertFalse(snapshotFile().isPresent(), "Invalidation should delete the snapshot file");
+        Assert.assertFalse(SessionStateCache.restoreOrRecord(browser.driver, FLOW, () -> login(browser)));
+        Assert.assertEquals(flowRuns.get(), 2);
+
+        Assert.assertFalse(SessionStateCache.restoreOrRecord(browser.driver, FLOW, () -> login(browser),
+                driver -> false), "A rejected restore should replay the flow");
+        Assert.assertEquals(flowRuns.get(), 3);
+    }
+
+    @Test(description = "Verify snapshot files holding login cookies are readable by the owner only")
+    public void testSnapshotFileIsOwnerOnly() throws IOException {
+        FakeBrowser browser = new FakeBrowser();
+        SessionStateCache.restoreOrRecord(browser.driver, FLOW, () -> login(browser));
+
+        Path file = snapshotFile().orElseThrow();
+        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (view == null) {
+            throw new SkipException("File system without POSIX permissions");
+        }
+        Assert.assertEquals(PosixFilePermissions.toString(view.readAttributes().permissions()), "rw-------");
+        Assert.assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(cacheDir)), "rwx------");
+    }
+
+    @Test(description = "Verify cookies and web storage round-trip through a real browser and a stub server")
+    public void testRoundTripAgainstStubServer() throws IOException {
+        try (LocalStubServer server = new LocalStubServer()) {
+            WebDriver recording = startBrowser();
+            try {
+                SessionStateCache.restoreOrRecord(recording, FLOW, () -> {
+                    flowRuns.incrementAndGet();
+                    recording.get(server.getBaseUrl() + "/");
+                    recording.manage().addCookie(new Cookie("session", "abc"));
+                    ((JavascriptExecutor) recording).executeScript(
+                            "localStorage.setItem('token', 't-1'); sessionStorage.setItem('tab', 'inbox');");
+                });
+            } finally {
+                BaseTest.closeDriver(recording);
+            }
+
+            WebDriver restoring = startBrowser();
+            try {
+                Assert.assertTrue(SessionStateCache.restoreOrRecord(restoring, FLOW, flowRuns::incrementAndGet,
+                        driver -> driver.manage().getCookieNamed("session") != null));
+                Assert.assertEquals(flowRuns.get(), 1);
+                Assert.assertEquals(restoring.manage().getCookieNamed("session").getValue(), "abc");
+                JavascriptExecutor js = (JavascriptExecutor) restoring;
+                Assert.assertEquals(js.executeScript("return localStorage.getItem('token');"), "t-1");
+                Assert.assertEquals(js.executeScript("return sessionStorage.getItem('tab');"), "inbox");
+            } finally {
+                BaseTest.closeDriver(restoring);
+            }
+        }
+    }
+
+    private void login(FakeBrowser browser) {
+        flowRuns.incrementAndGet();
+        browser.url = "http://127.0.0.1/home";
+        browser.cookies.put("session", new Cookie("session", "abc"));
+        browser.storage.get("localStorage").put("token", "t-1");
+    }
+
+    private Optional<Path> snapshotFile() {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(FLOW)).findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static WebDriver startBrowser() {
+        try {
+            return BaseTest.createDriver(ConfigReader.getBrowser(), true);
+        } catch (RuntimeException e) {
+            String reason = String.valueOf(e.getMessage()).split("\n", 2)[0];
+            throw new SkipException("No local browser available: " + reason);
+        }
+    }
+
+    /**
+     * In-memory stand-in for a browser with a cookie jar and web storage, answering the
+     * cache's storage scripts
+     */
+    private static class FakeBrowser {
+        private final Map<String, Cookie> cookies = new HashMap<>();
+        private final Map<String, Map<String, String>> storage = new HashMap<>(Map.of(
+                "localStorage", new HashMap<>(), "sessionStorage", new HashMap<>()));
+        private String url = "about:blank";
+        private final WebDriver driver = (WebDriver) proxy(WebDriver.class, (method, args) -> {
+            switch (method) {
+                case "getCurrentUrl":
+                    return url;
+                case "get":
+                    url = (String) args[0];
+                    return null;
+                case "manage":
+                    return proxy(WebDriver.Options.class, this::options);
+                case "navigate":
+                    return proxy(WebDriver.Navigation.class, (name, ignored) -> null);
+                case "executeScript":
+                    return script((String) args[0], (Object[]) args[1]);
+                default:
+                    return null;
+            }
+        }, JavascriptExecutor.class);
+
+        private Object options(String method, Object[] args) {
+            switch (method) {
+                case "getCookies":
+                    return new LinkedHashSet<>(cookies.values());
+                case "addCookie":
+                    Cookie cookie = (Cookie) args[0];
+                    cookies.put(cookie.getName(), cookie);
+                    return null;
+                case "deleteAllCookies":
+                    cookies.clear();
+                    return null;
+                default:
+                    return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object script(String script, Object[] args) {
+            Map<String, String> values = storage.get((String) args[0]);
+            if (script.contains("setItem")) {
+                values.clear();
+                values.putAll((Map<String, String>) args[1]);
+                return null;
+            }
+            return new HashMap<>(values);
+        }
+
+        private static Object proxy(Class<?> type, Handler handler, Class<?>... extra) {
+            Class<?>[] types = Stream.concat(Stream.of(type), Stream.of(extra)).toArray(Class<?>[]::new);
+            return Proxy.newProxyInstance(type.getClassLoader(), types,
+                    (proxy, method, args) -> handler.handle(method.getName(), args));
+        }
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+}
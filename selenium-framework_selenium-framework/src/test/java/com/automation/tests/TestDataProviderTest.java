@@ -0,0 +1,130 @@
+package com.automation.tests;
+
+import com.automation.data.TestDataProvider;
+import com.automation.data.TestDataReader;
+import com.automation.data.TestDataRow;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test class for the streaming test data readers and row selection
+ */
+public class TestDataProviderTest {
+
+    @Test(description = "Verify CSV rows keep quoted commas, quotes and line breaks and get stable IDs")
+    public void testCsvRowsAndIds() throws IOException {
+        Path file = write("rows.csv", "id,email,password\n"
+                + "quoted,\"a,b@example.com\",\"say \"\"hi\"\"\"\n"
+                + ",multi@example.com,\"line1\nline2\"\r\n"
+                + "\n"
+                + "short,only@example.com\n");
+
+        List<TestDataRow> rows = readAll(file);
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(rows.get(0).getId(), "quoted");
+        Assert.assertEquals(rows.get(0).get("email"), "a,b@example.com");
+        Assert.assertEquals(rows.get(0).get("password"), "say \"hi\"");
+        Assert.assertEquals(rows.get(1).getId(), "rows.csv#2", "Rows without an id column value use file#row");
+        Assert.assertEquals(rows.get(1).get("password"), "line1\nline2");
+        Assert.assertEquals(rows.get(2).get("password"), "", "Missing trailing columns should be empty");
+    }
+
+    @Test(description = "Verify JSON arrays and JSON Lines produce the same rows")
+    public void testJsonFormats() throws IOException {
+        Path array = write("rows.json", "[{\"id\": \"a\", \"email\": \"a@example.com\", \"attempts\": 3},"
+                + " {\"email\": \"b@example.com\", \"attempts\": null}]");
+        Path lines = write("rows.jsonl", "{\"id\": \"a\", \"email\": \"a@example.com\", \"attempts\": 3}\n\n"
+                + "{\"email\": \"b@example.com\", \"attempts\": null}\n");
+
+        for (Path file : new Path[]{array, lines}) {
+            List<TestDataRow> rows = readAll(file);
+            Assert.assertEquals(rows.size(), 2, file.toString());
+            Assert.assertEquals(rows.get(0).getId(), "a");
+            Assert.assertEquals(rows.get(0).getInt("attempts", 0), 3);
+            Assert.assertEquals(rows.get(1).getId(), file.getFileName() + "#2");
+            Assert.assertEquals(rows.get(1).get("attempts"), "");
+        }
+    }
+
+    @Test(description = "Verify rows are streamed lazily and the file is released after the last row")
+    public void testLazyStreamingOfLargeFile() throws IOException {
+        Path file = Files.createTempFile("large", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("email,password\n");
+            for (int i = 0; i < 50_000; i++) {
+                writer.write("user" + i + "@example.com,secret" + i + "\n");
+            }
+        }
+
+        Iterator<Object[]> rows = TestDataProvider.rows(file.toString(), row -> row.get("email").startsWith("user4999"));
+        int count = 0;
+        while (rows.hasNext()) {
+            Assert.assertTrue(rows.next()[0] instanceof TestDataRow);
+            count++;
+        }
+        Assert.assertEquals(count, 11, "user4999 and user49990-user49999 should match");
+        Assert.assertTrue(Files.deleteIfExists(file));
+    }
+
+    @Test(description = "Verify sampling is deterministic and close to the requested rate")
+    public void testDeterministicSampling() {
+        int sampled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String id = "login.csv#" + i;
+            boolean first = TestDataProvider.isSampled(id, 0.1, 42);
+            Assert.assertEquals(TestDataProvider.isSampled(id, 0.1, 42), first, "Sampling must be repeatable");
+            if (first) {
+                sampled++;
+            }
+        }
+        Assert.assertTrue(sampled > 800 && sampled < 1200, "Sampled " + sampled + " of 10000 rows at 10%");
+        Assert.assertTrue(TestDataProvider.isSampled("any", 1.0, 0));
+        Assert.assertFalse(TestDataProvider.isSampled("any", 0.0, 0));
+    }
+
+    @Test(description = "Verify column filters with alternatives")
+    public void testFilter() throws IOException {
+        Path file = write("filter.csv", "id,category\na,empty\nb,invalid-email\nc,special-characters\n");
+        try (Stream<TestDataRow> rows = TestDataProvider.stream(file.toString())) {
+            List<String> ids = rows.filter(TestDataProvider.parseFilter("category=empty|special-characters"))
+                    .map(TestDataRow::getId)
+                    .collect(Collectors.toList());
+            Assert.assertEquals(ids, List.of("a", "c"));
+        }
+    }
+
+    @Test(description = "Verify the bundled login data is found on the classpath")
+    public void testClasspathResource() {
+        Iterator<Object[]> rows = TestDataProvider.rows("testdata/invalid-login-inputs.csv");
+        Assert.assertTrue(rows.hasNext());
+        Assert.assertEquals(rows.next()[0].toString(), "empty-credentials");
+    }
+
+    private static List<TestDataRow> readAll(Path file) throws IOException {
+        List<TestDataRow> rows = new ArrayList<>();
+        try (TestDataReader reader = TestDataReader.open(file.toString())) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    private static Path write(String name, String content) throws IOException {
+        Path dir = Files.createTempDirectory("testdata");
+        dir.toFile().deleteOnExit();
+        Path file = dir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
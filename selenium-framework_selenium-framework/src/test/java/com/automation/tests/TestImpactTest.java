@@ -0,0 +1,109 @@
+package com.automation.tests;
+
+import com.automation.pages.FacebookLoginPage;
+import com.automation.utils.TestImpactRecorder;
+import com.automation.utils.TestImpactSelector;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test class for recording page-object usage and selecting affected tests
+ */
+public class TestImpactTest {
+    private static final String PAGE_TEST = "com.automation.tests.FacebookLoginTest.testLoginPageElements";
+    private static final String DATA_TEST = "com.automation.tests.FacebookLoginTest.testLoginWithInvalidInputs";
+    private static final String OTHER_TEST = "com.automation.tests.LoadRunnerTest.testStepPercentiles";
+
+    private static final Map<String, Map<String, Object>> IMPACT_MAP = Map.of(
+            PAGE_TEST, Map.of("classes", List.of("com.automation.pages.FacebookLoginPage"), "durationMs", 4000),
+            DATA_TEST, Map.of("classes", List.of("com.automation.pages.FacebookLoginPage"),
+                    "data", List.of("invalid-login-inputs.csv"), "durationMs", 9000),
+            OTHER_TEST, Map.of("classes", List.of(), "durationMs", 1000));
+    private static final List<String> ALL_TESTS = List.of(PAGE_TEST, DATA_TEST, OTHER_TEST);
+    private static final String RECORDED_TEST = "com.automation.tests.TestImpactTest.stubPage";
+
+    @Test(description = "Verify a page-object change selects only the tests that used the page")
+    public void testPageChangeSelectsUsers() {
+        TestImpactSelector.Selection selection = TestImpactSelector.select(ALL_TESTS, IMPACT_MAP,
+                List.of("selenium-framework/src/main/java/com/automation/pages/FacebookLoginPage.java"));
+        Assert.assertEquals(selection.getSelected(), Set.of(PAGE_TEST, DATA_TEST));
+        Assert.assertEquals(selection.getSkipped(), 1);
+        Assert.assertEquals(selection.getSavedMs(), 1000);
+    }
+
+    @Test(description = "Verify data file, test class and unmapped tests are selected")
+    public void testDataTestClassAndUnknownTests() {
+        String newTest = "com.automation.tests.NewTest.testSomething";
+        List<String> candidates = List.of(PAGE_TEST, DATA_TEST, OTHER_TEST, newTest);
+
+        TestImpactSelector.Selection selection = TestImpactSelector.select(candidates, IMPACT_MAP,
+                List.of("src/test/resources/testdata/invalid-login-inputs.csv",
+                        "src/test/java/com/automation/tests/LoadRunnerTest.java"));
+        Assert.assertEquals(selection.getSelected(), Set.of(DATA_TEST, OTHER_TEST, newTest));
+        Assert.assertEquals(selection.getSavedMs(), 4000);
+    }
+
+    @Test(description = "Verify shared framework changes and unknown change lists run everything")
+    public void testSharedChangesRunAll() {
+        Assert.assertEquals(TestImpactSelector.select(ALL_TESTS, IMPACT_MAP, List.of("pom.xml")).getSkipped(), 0);
+        Assert.assertEquals(TestImpactSelector.select(ALL_TESTS, IMPACT_MAP, null).getSkipped(), 0);
+        Assert.assertEquals(TestImpactSelector.select(ALL_TESTS, IMPACT_MAP, List.of("README.md")).getSkipped(), 3,
+                "Files no test depends on should not select any test");
+    }
+
+    @Test(description = "Verify page classes, methods and @FindBy fields used by a test are recorded")
+    public void testRecordsPageUsage() throws Exception {
+        Path mapFile = Files.createTempFile("impact-map", ".json");
+        String previous = System.getProperty("impact.map.file");
+        System.setProperty("impact.map.file", mapFile.toString());
+        try {
+            TestImpactRecorder.begin();
+            FacebookLoginPage page = new FacebookLoginPage(stubDriver());
+            Assert.assertTrue(page.isEmailFieldDisplayed());
+            TestImpactRecorder.end(RECORDED_TEST, 25);
+            TestImpactRecorder.save();
+
+            Map<String, Object> impact = TestImpactRecorder.load(mapFile).get(RECORDED_TEST);
+            Assert.assertNotNull(impact);
+            Assert.assertEquals(impact.get("classes"), List.of("com.automation.pages.FacebookLoginPage"));
+            Assert.assertEquals(impact.get("methods"),
+                    List.of("com.automation.pages.FacebookLoginPage#isEmailFieldDisplayed"));
+            Assert.assertEquals(impact.get("fields"), List.of("com.automation.pages.FacebookLoginPage#emailField"));
+            Assert.assertEquals(((Number) impact.get("durationMs")).longValue(), 25);
+        } finally {
+            if (previous == null) {
+                System.clearProperty("impact.map.file");
+            } else {
+                System.setProperty("impact.map.file", previous);
+            }
+            Files.deleteIfExists(mapFile);
+        }
+    }
+
+    private static WebDriver stubDriver() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) ->
+                        method.getReturnType() == boolean.class ? Boolean.TRUE : null);
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "findElements":
+                            return Collections.singletonList(element);
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
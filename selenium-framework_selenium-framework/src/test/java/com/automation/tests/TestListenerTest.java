@@ -0,0 +1,156 @@
+package com.automation.tests;
+
+import com.automation.listeners.TestListener;
+import com.automation.utils.CircuitBreaker;
+import com.automation.utils.ExtentReportManager;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+import org.testng.Assert;
+import org.testng.ISuite;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for the report entries the listener writes when the circuit breaker skips setup
+ */
+public class TestListenerTest {
+    private static String deadUrl;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadUrl = "http://127.0.0.1:" + socket.getLocalPort() + "/";
+        }
+        System.setProperty("circuit.breaker.probe.interval.seconds", "600");
+        CircuitBreaker.reset();
+        for (int i = 0; i < 3; i++) {
+            CircuitBreaker.recordUrl(deadUrl, new ConnectException("Connection refused"));
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        System.clearProperty("circuit.breaker.probe.interval.seconds");
+        CircuitBreaker.reset();
+    }
+
+    @Test(description = "Verify every test skipped by the circuit breaker in setup gets its own report entry")
+    public void testSkippedInSetupGetsOwnEntry() {
+        RecordingListener listener = run(false);
+        assertOwnEntries(listener);
+    }
+
+    @Test(description = "Verify a skip without onTestStart creates its entry instead of failing or reusing another")
+    public void testSkippedWithoutStartCreatesEntry() {
+        RecordingListener listener = run(true);
+        assertOwnEntries(listener);
+    }
+
+    private RecordingListener run(boolean skipStart) {
+        RecordingListener listener = new RecordingListener(skipStart);
+        TestNG testng = new TestNG();
+        testng.setUseDefaultListeners(false);
+        testng.setVerbose(0);
+        // Run every @BeforeMethod, so each test is skipped by the breaker itself
+        testng.setConfigFailurePolicy(XmlSuite.FailurePolicy.CONTINUE);
+        testng.setTestClasses(new Class<?>[]{BreakerGuardedTests.class});
+        testng.addListener(listener);
+        Thread thread = new Thread(testng::run);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return listener;
+    }
+
+    private void assertOwnEntries(RecordingListener listener) {
+        Assert.assertEquals(listener.skipped.size(), 2);
+        Assert.assertEquals(listener.entries.size(), 2);
+        Assert.assertNotSame(listener.entries.get(0), listener.entries.get(1));
+        for (int i = 0; i < 2; i++) {
+            ExtentTest entry = listener.entries.get(i);
+            Assert.assertEquals(entry.getModel().getName(), listener.skipped.get(i));
+            String logs = entry.getModel().getLogs().stream()
+                    .map(TestListenerTest::describe)
+                    .collect(Collectors.joining("\n"));
+            Assert.assertTrue(logs.contains("Circuit for 127.0.0.1:"), logs);
+            Assert.assertEquals(entry.getModel().getLogs().stream()
+                    .filter(log -> String.valueOf(log.getDetails()).startsWith("Test Skipped:")).count(), 1, logs);
+        }
+        Assert.assertEquals(listener.leftOnThread, List.of(), "report entries left on the thread after the test");
+    }
+
+    private static String describe(Log log) {
+        return log.getException() == null ? log.getDetails() : log.getException().getStackTrace();
+    }
+
+    /**
+     * Listener without the suite-level preflight and report flush, recording the entry of each skip
+     */
+    private static class RecordingListener extends TestListener {
+        private final boolean skipStart;
+        private final List<String> skipped = new ArrayList<>();
+        private final List<ExtentTest> entries = new ArrayList<>();
+        private final List<ExtentTest> leftOnThread = new ArrayList<>();
+
+        RecordingListener(boolean skipStart) {
+            this.skipStart = skipStart;
+        }
+
+        @Override
+        public void onStart(ISuite suite) {
+        }
+
+        @Override
+        public void onFinish(ISuite suite) {
+        }
+
+        @Override
+        public void onTestStart(ITestResult result) {
+            if (!skipStart) {
+                super.onTestStart(result);
+            }
+        }
+
+        @Override
+        public void onTestSkipped(ITestResult result) {
+            super.onTestSkipped(result);
+            skipped.add(result.getMethod().getMethodName());
+            entries.add((ExtentTest) result.getAttribute("extent.test"));
+            if (ExtentReportManager.getTest() != null) {
+                leftOnThread.add(ExtentReportManager.getTest());
+            }
+        }
+    }
+
+    /**
+     * Tests whose setup needs the target behind the open circuit
+     */
+    public static class BreakerGuardedTests {
+        @BeforeMethod
+        public void setUp() {
+            CircuitBreaker.checkUrl(deadUrl);
+        }
+
+        @Test
+        public void first() {
+        }
+
+        @Test(priority = 1)
+        public void second() {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.automation.tests;
+
+import com.automation.utils.ConfigReader;
+import com.automation.utils.TestLogBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for per-test log buffering
+ */
+public class TestLogBufferTest {
+    private static final Logger logger = LogManager.getLogger(TestLogBufferTest.class);
+
+    @Test(description = "Verify debug events are buffered for the current thread and drained in order")
+    public void testDrainReturnsBufferedEvents() {
+        TestLogBuffer.discard();
+        TestLogBuffer.begin();
+        logger.debug("Entered text in {}: {}", "Email Field", "user@example.com");
+        logger.info("Clicked on: {}", "Login Button");
+
+        String logs = TestLogBuffer.drain();
+        Assert.assertTrue(logs.contains("Entered text in Email Field: user@example.com"), logs);
+        Assert.assertTrue(logs.indexOf("Entered text") < logs.indexOf("Clicked on"), "Events should keep their order");
+        Assert.assertEquals(TestLogBuffer.drain(), "", "Drain should empty the buffer");
+    }
+
+    @Test(description = "Verify the buffer keeps only the most recent events")
+    public void testBufferIsBounded() {
+        int capacity = ConfigReader.getLogBufferSize();
+        TestLogBuffer.discard();
+        TestLogBuffer.begin();
+        for (int i = 0; i < capacity + 10; i++) {
+            logger.debug("event {}", i);
+        }
+
+        String logs = TestLogBuffer.drain();
+        Assert.assertTrue(logs.startsWith("... 10 earlier events dropped ..."), logs.substring(0, 80));
+        Assert.assertFalse(logs.contains("event 9\n") || logs.contains("event 9" + System.lineSeparator()),
+                "Oldest events should be overwritten");
+        Assert.assertTrue(logs.contains("event " + (capacity + 9)), "Newest event should be kept");
+    }
+
+    @Test(description = "Verify nothing is captured after the buffer is discarded")
+    public void testDiscardStopsCapture() {
+        TestLogBuffer.discard();
+        logger.debug("not captured");
+        Assert.assertEquals(TestLogBuffer.drain(), "");
+    }
+}